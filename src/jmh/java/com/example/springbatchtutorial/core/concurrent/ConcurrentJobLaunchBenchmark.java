@@ -0,0 +1,127 @@
+package com.example.springbatchtutorial.core.concurrent;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * I/O 를 기다리는 Job JOBS 개를 한꺼번에 실행하고 모두 끝날 때까지 걸리는 시간을 측정한다.
+ * platform : 크기가 정해진 쓰레드풀 (PLATFORM_POOL_SIZE) 에서 Job 을 실행
+ * virtual  : VirtualThreadTaskExecutor 에서 Job 을 실행 (permit 은 maxConcurrency 개)
+ *
+ * Job 의 tasklet 은 IO_MILLIS 동안 sleep 해서 외부 시스템 호출을 흉내낸다. JobRepository 는 내장 H2 를 사용한다.
+ *
+ * run: ./gradlew jmh -PjmhIncludes=ConcurrentJobLaunchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConcurrentJobLaunchBenchmark {
+
+    private static final int JOBS = 500;
+    private static final int PLATFORM_POOL_SIZE = 32;
+    private static final long IO_MILLIS = 50;
+
+    @Param({"platform", "virtual"})
+    public String executor;
+
+    @Param({"500"})
+    public int maxConcurrency;
+
+    private final AtomicLong runId = new AtomicLong();
+
+    private ThreadPoolTaskExecutor platformTaskExecutor;
+    private TaskExecutorJobLauncher jobLauncher;
+    private Job ioBoundJob;
+    private volatile CountDownLatch finished;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:launch-" + executor + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=60000");
+        new ResourceDatabasePopulator(new ClassPathResource("org/springframework/batch/core/schema-h2.sql")).execute(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+        JobRepositoryFactoryBean jobRepositoryFactoryBean = new JobRepositoryFactoryBean();
+        jobRepositoryFactoryBean.setDataSource(dataSource);
+        jobRepositoryFactoryBean.setTransactionManager(transactionManager);
+        jobRepositoryFactoryBean.setIsolationLevelForCreate("ISOLATION_READ_COMMITTED");
+        jobRepositoryFactoryBean.afterPropertiesSet();
+        JobRepository jobRepository = jobRepositoryFactoryBean.getObject();
+
+        ioBoundJob = new JobBuilder("ioBoundJob", jobRepository)
+                .start(new StepBuilder("ioBoundStep", jobRepository)
+                        .tasklet((contribution, chunkContext) -> {
+                            Thread.sleep(IO_MILLIS);
+                            return RepeatStatus.FINISHED;
+                        }, transactionManager)
+                        .build())
+                .listener(new JobExecutionListener() {
+                    @Override
+                    public void afterJob(JobExecution jobExecution) {
+                        finished.countDown();
+                    }
+                })
+                .build();
+
+        jobLauncher = new TaskExecutorJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.setTaskExecutor(taskExecutor());
+        jobLauncher.afterPropertiesSet();
+    }
+
+    private TaskExecutor taskExecutor() {
+        if ("virtual".equals(executor)) {
+            return new VirtualThreadTaskExecutor("bench-vt-", maxConcurrency);
+        }
+        platformTaskExecutor = new ThreadPoolTaskExecutor();
+        platformTaskExecutor.setCorePoolSize(PLATFORM_POOL_SIZE);
+        platformTaskExecutor.setMaxPoolSize(PLATFORM_POOL_SIZE);
+        platformTaskExecutor.setThreadNamePrefix("bench-platform-");
+        platformTaskExecutor.initialize();
+        return platformTaskExecutor;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (platformTaskExecutor != null) {
+            platformTaskExecutor.shutdown();
+        }
+    }
+
+    @Benchmark
+    public long launchAll() throws Exception {
+        finished = new CountDownLatch(JOBS);
+        for (int i = 0; i < JOBS; i++) {
+            jobLauncher.run(ioBoundJob, new JobParametersBuilder()
+                    .addLong("run.id", runId.incrementAndGet())
+                    .toJobParameters());
+        }
+        if (!finished.await(5, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("jobs did not finish: " + finished.getCount());
+        }
+        return finished.getCount();
+    }
+
+}
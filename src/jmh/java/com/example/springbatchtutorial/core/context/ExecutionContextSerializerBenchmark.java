@@ -0,0 +1,78 @@
+package com.example.springbatchtutorial.core.context;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.batch.core.repository.ExecutionContextSerializer;
+import org.springframework.batch.core.repository.dao.DefaultExecutionContextSerializer;
+import org.springframework.batch.core.repository.dao.Jackson2ExecutionContextStringSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 큰 Map 을 담은 ExecutionContext 를 serializer 별로 직렬화 / 역직렬화하는 시간을 측정한다.
+ * 저장되는 크기(byte) 는 Trial 시작할 때 출력한다. (BATCH_*_EXECUTION_CONTEXT 에 저장되는 문자열 길이)
+ *
+ * default : DefaultExecutionContextSerializer (Java 직렬화 + Base64, Spring Batch 5 기본값)
+ * jackson : Jackson2ExecutionContextStringSerializer (JSON)
+ * compact : CompactExecutionContextSerializer (타입 태그 바이너리 + Deflate + Base64)
+ *
+ * run: ./gradlew jmh -PjmhIncludes=ExecutionContextSerializerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionContextSerializerBenchmark {
+
+    @Param({"default", "jackson", "compact"})
+    public String serializer;
+
+    @Param({"10", "1000", "10000"})
+    public int mapSize;
+
+    private ExecutionContextSerializer executionContextSerializer;
+    private Map<String, Object> context;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        executionContextSerializer = switch (serializer) {
+            case "jackson" -> new Jackson2ExecutionContextStringSerializer();
+            case "compact" -> new CompactExecutionContextSerializer();
+            default -> new DefaultExecutionContextSerializer();
+        };
+
+        HashMap<String, Long> lastIds = new HashMap<>();
+        for (int i = 0; i < mapSize; i++) {
+            lastIds.put("partition" + i, (long) i * 1_000);
+        }
+        context = new HashMap<>();
+        context.put("batch.taskletType", "org.springframework.batch.core.step.item.ChunkOrientedTasklet");
+        context.put("batch.stepType", "org.springframework.batch.core.step.tasklet.TaskletStep");
+        context.put("trOrdersReader.read.count", 12_345);
+        context.put("trOrdersReader.lastId", 98_765L);
+        context.put("lastIds", lastIds);
+
+        serialized = serialize();
+        System.out.printf("%n%s mapSize=%d stored bytes=%d%n", serializer, mapSize, serialized.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        executionContextSerializer.serialize(context, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public Map<String, Object> deserialize() throws IOException {
+        return executionContextSerializer.deserialize(new ByteArrayInputStream(serialized));
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.example.springbatchtutorial.core.repository;
+
+import com.example.springbatchtutorial.SpringBatchTutorialApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 짧은 tasklet Job 하나를 JobLauncher.run() 으로 실행해서 끝날 때까지 걸리는 시간을 측정한다.
+ * durable : 기본 JobRepository (profile 의 DataSource)
+ * in-memory : batch.in-memory-repository.jobs 로 지정한 내장 H2 JobRepository
+ *
+ * test 프로필은 기본 JobRepository 도 H2 이므로, MySQL 과 비교하려면 -p profile=local 로 실행한다. (MySQL 이 떠 있어야 한다)
+ *
+ * run: ./gradlew jmh -PjmhIncludes=JobRepositoryLaunchLatencyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobRepositoryLaunchLatencyBenchmark {
+
+    @Param({"durable", "in-memory"})
+    public String repository;
+
+    @Param({"helloWorldJob", "multipleStepJob"})
+    public String jobName;
+
+    @Param({"test"})
+    public String profile;
+
+    private final AtomicLong runId = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private JobLauncher jobLauncher;
+    private Job job;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringBatchTutorialApplication.class)
+                .run("--spring.profiles.active=" + profile,
+                        "--spring.batch.job.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--batch.sample-scheduler.enabled=false",     // 매분 helloWorldJob 을 실행하는 SampleScheduler 가 측정에 섞이지 않도록
+                        "--logging.level.root=WARN",
+                        "--batch.in-memory-repository.jobs=" + ("in-memory".equals(repository) ? jobName : ""));
+        jobLauncher = context.getBean("jobLauncher", JobLauncher.class);
+        job = context.getBean(jobName, Job.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BatchStatus launch() throws Exception {
+        JobExecution jobExecution = jobLauncher.run(job, new JobParametersBuilder()
+                .addLong("run.id", runId.incrementAndGet())
+                .addLong("requestTime", System.nanoTime())
+                .toJobParameters());
+        if (jobExecution.getStatus() != BatchStatus.COMPLETED) {
+            throw new IllegalStateException(jobName + " " + jobExecution.getStatus());
+        }
+        return jobExecution.getStatus();
+    }
+
+}
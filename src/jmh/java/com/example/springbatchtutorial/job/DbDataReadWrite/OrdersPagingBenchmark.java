@@ -0,0 +1,74 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OFFSET 페이징과 keyset(seek) 페이징의 페이지당 조회 시간을 비교한다.
+ * offset 이 커질수록 OFFSET 페이징은 느려지고, keyset 페이징은 일정하게 유지되는 것을 확인할 수 있다.
+ *
+ * run: ./gradlew jmh -PjmhIncludes=OrdersPagingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrdersPagingBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int PAGE_SIZE = 5;
+
+    @Param({"0", "10000", "100000", "500000", "990000"})
+    public int offset;
+
+    private Connection connection;
+    private PreparedStatement offsetQuery;
+    private PreparedStatement keysetQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:orders_paging;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS orders (id INT AUTO_INCREMENT PRIMARY KEY, order_item VARCHAR(45), price INT, order_date DATE)");
+            statement.execute("TRUNCATE TABLE orders");
+            statement.execute("INSERT INTO orders(order_item, price, order_date) "
+                    + "SELECT '카카오 선물', MOD(X, 50000), DATE '2022-03-01' FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        }
+        offsetQuery = connection.prepareStatement("SELECT id, order_item, price, order_date FROM orders ORDER BY id LIMIT ? OFFSET ?");
+        keysetQuery = connection.prepareStatement("SELECT id, order_item, price, order_date FROM orders WHERE id > ? ORDER BY id LIMIT ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void offsetPage(Blackhole blackhole) throws SQLException {
+        offsetQuery.setInt(1, PAGE_SIZE);
+        offsetQuery.setInt(2, offset);
+        consume(offsetQuery, blackhole);
+    }
+
+    @Benchmark
+    public void keysetPage(Blackhole blackhole) throws SQLException {
+        keysetQuery.setInt(1, offset);     // id 는 1 부터 연속이므로 offset 번째 row 의 id 가 곧 lastId 이다.
+        keysetQuery.setInt(2, PAGE_SIZE);
+        consume(keysetQuery, blackhole);
+    }
+
+    private void consume(PreparedStatement query, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = query.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getInt(1));
+                blackhole.consume(resultSet.getString(2));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite;
+
+import com.example.springbatchtutorial.core.domain.accounts.Accounts;
+import com.example.springbatchtutorial.core.domain.orders.Orders;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.batch.item.ItemProcessor;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * trOrdersProcessor 가 하는 Orders -> Accounts 변환 비용을 측정한다.
+ * run: ./gradlew jmh -PjmhIncludes=OrdersToAccountsBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrdersToAccountsBenchmark {
+
+    private Orders orders;
+    private ItemProcessor<Orders, Accounts> processor;
+
+    @Setup
+    public void setUp() {
+        orders = new Orders(1, "카카오 선물", 15000, LocalDateTime.of(2022, 3, 1, 0, 0));
+        processor = Accounts::new;
+    }
+
+    @Benchmark
+    public Accounts process() throws Exception {
+        return processor.process(orders);
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite;
+
+import com.example.springbatchtutorial.SpringBatchTutorialApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 내장 H2 위에서 trMigrationJob 을 끝까지 실행하는 데 걸리는 시간을 측정한다. (orders ROWS 건 -> accounts)
+ * readerMode / writerMode 조합별로 chunk 처리량을 비교할 수 있다.
+ *
+ * run: ./gradlew jmh -PjmhIncludes=TrMigrationStepBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TrMigrationStepBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"paging", "keyset"})
+    public String readerMode;
+
+    @Param({"jpa", "jdbc"})
+    public String writerMode;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private JobLauncher jobLauncher;
+    private Job trMigrationJob;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringBatchTutorialApplication.class)
+                .run("--spring.profiles.active=test",
+                        "--spring.batch.job.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--batch.sample-scheduler.enabled=false",     // 매분 helloWorldJob 을 실행하는 SampleScheduler 가 측정에 섞이지 않도록
+                        "--batch.chunk.size=100");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jobLauncher = context.getBean(JobLauncher.class);
+        trMigrationJob = context.getBean("trMigrationJob", Job.class);
+
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("INSERT INTO orders(id, order_item, price, order_date) "
+                + "SELECT X, '카카오 선물', MOD(X, 50000), TIMESTAMP '2022-03-01 00:00:00' FROM SYSTEM_RANGE(1, " + ROWS + ")");
+    }
+
+    @Setup(Level.Invocation)
+    public void clearAccounts() {
+        jdbcTemplate.update("DELETE FROM accounts");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BatchStatus migrate() throws Exception {
+        JobExecution jobExecution = jobLauncher.run(trMigrationJob, new JobParametersBuilder()
+                .addLong("run.id", System.nanoTime())
+                .addString("readerMode", readerMode)
+                .addString("writerMode", writerMode)
+                .toJobParameters());
+        if (jobExecution.getStatus() != BatchStatus.COMPLETED) {
+            throw new IllegalStateException("trMigrationJob " + jobExecution.getStatus());
+        }
+        return jobExecution.getStatus();
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.example.springbatchtutorial.job.FileDataReadWrite;
+
+import com.example.springbatchtutorial.job.FileDataReadWrite.dto.Player;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.transform.FieldSet;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FlatFileItemReader 가 한 줄마다 하는 일(DelimitedLineTokenizer 로 나누고 PlayerFieldSetMapper 로 Player 를 만드는 것)의 처리량을 측정한다.
+ * run: ./gradlew jmh -PjmhIncludes=PlayerFieldSetMapperBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerFieldSetMapperBenchmark {
+
+    private final String line = "AbduKa00,Abdul-Jabbar,Karim,rb,1974,1996,";
+
+    private DelimitedLineTokenizer lineTokenizer;
+    private FieldSetMapper<Player> fieldSetMapper;
+
+    @Setup
+    public void setUp() {
+        lineTokenizer = new DelimitedLineTokenizer();
+        fieldSetMapper = new PlayerFieldSetMapper();
+    }
+
+    @Benchmark
+    public FieldSet tokenize() {
+        return lineTokenizer.tokenize(line);
+    }
+
+    @Benchmark
+    public Player tokenizeAndMap() throws Exception {
+        return fieldSetMapper.mapFieldSet(lineTokenizer.tokenize(line));
+    }
+
+}
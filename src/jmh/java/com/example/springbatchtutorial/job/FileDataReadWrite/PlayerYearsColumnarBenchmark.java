@@ -0,0 +1,137 @@
+package com.example.springbatchtutorial.job.FileDataReadWrite;
+
+import com.example.springbatchtutorial.core.columnar.ColumnarFileReader;
+import com.example.springbatchtutorial.core.columnar.ColumnarItemWriter;
+import com.example.springbatchtutorial.job.FileDataReadWrite.dto.Player;
+import com.example.springbatchtutorial.job.FileDataReadWrite.dto.PlayerYears;
+import com.example.springbatchtutorial.job.FileDataReadWrite.writer.PlayerYearsColumns;
+import com.example.springbatchtutorial.job.FileDataReadWrite.writer.PlayerYearsLineAggregator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileItemWriter;
+import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PlayerYears 100,000 건을 CSV (FlatFileItemWriter + PlayerYearsLineAggregator) 와 컬럼 파일 (ColumnarItemWriter) 로 쓰는 시간과,
+ * 쓴 파일에서 yearsExperience 하나만 읽어서 합계를 구하는 시간을 비교한다.
+ * 파일 크기(byte) 는 Trial 시작할 때 출력한다.
+ *
+ * run: ./gradlew jmh -PjmhIncludes=PlayerYearsColumnarBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayerYearsColumnarBenchmark {
+
+    private static final int ITEM_COUNT = 100_000;
+    private static final int CHUNK_SIZE = 1_000;
+    private static final String[] POSITIONS = {"qb", "rb", "wr", "te", "ol", "dl", "lb", "cb", "s", "k", "p"};
+
+    private List<PlayerYears> players;
+    private Path directory;
+    private Path csvFile;
+    private Path columnarFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Random random = new Random(42);
+        players = new ArrayList<>(ITEM_COUNT);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            Player player = new Player();
+            player.setID("Play" + String.format("%04d", i % 10_000));
+            player.setLastName("Last" + random.nextInt(5_000));
+            player.setFirstName("First" + random.nextInt(300));
+            player.setPosition(POSITIONS[random.nextInt(POSITIONS.length)]);
+            player.setBirthYear(1940 + random.nextInt(60));
+            player.setDebutYear(player.getBirthYear() + 21 + random.nextInt(4));
+            players.add(new PlayerYears(player, 2023));
+        }
+        directory = Files.createTempDirectory("columnar-benchmark");
+        csvFile = directory.resolve("players_output.txt");
+        columnarFile = directory.resolve("players_output.col");
+        writeCsv();
+        writeColumnar();
+        System.out.printf("%ncsv %,d byte / columnar %,d byte%n", Files.size(csvFile), Files.size(columnarFile));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(csvFile);
+        Files.deleteIfExists(columnarFile);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public long writeCsv() throws Exception {
+        FlatFileItemWriter<PlayerYears> writer = new FlatFileItemWriterBuilder<PlayerYears>()
+                .name("csvWriter")
+                .resource(new FileSystemResource(csvFile))
+                .lineAggregator(new PlayerYearsLineAggregator())
+                .build();
+        ExecutionContext executionContext = new ExecutionContext();
+        writer.open(executionContext);
+        for (int i = 0; i < ITEM_COUNT; i += CHUNK_SIZE) {
+            writer.write(new Chunk<>(players.subList(i, i + CHUNK_SIZE)));
+            writer.update(executionContext);
+        }
+        writer.close();
+        return Files.size(csvFile);
+    }
+
+    @Benchmark
+    public long writeColumnar() throws Exception {
+        ColumnarItemWriter<PlayerYears> writer = new ColumnarItemWriter<>(columnarFile, PlayerYearsColumns.schema(), 65_536);
+        writer.setName("columnarWriter");
+        ExecutionContext executionContext = new ExecutionContext();
+        writer.open(executionContext);
+        for (int i = 0; i < ITEM_COUNT; i += CHUNK_SIZE) {
+            writer.write(new Chunk<>(players.subList(i, i + CHUNK_SIZE)));
+            writer.update(executionContext);
+        }
+        writer.close();
+        return Files.size(columnarFile);
+    }
+
+    /**
+     * CSV 는 yearsExperience 하나를 구하려고 해도 모든 줄을 읽고 나눠야 한다.
+     */
+    @Benchmark
+    public long scanCsv() throws IOException {
+        long sum = 0;
+        try (BufferedReader reader = Files.newBufferedReader(csvFile)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sum += Integer.parseInt(line.substring(line.lastIndexOf(',') + 1));
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long scanColumnar() throws IOException {
+        long sum = 0;
+        try (ColumnarFileReader reader = new ColumnarFileReader(columnarFile)) {
+            for (int i = 0; i < reader.rowGroupCount(); i++) {
+                for (int value : reader.readRowGroup(i, "yearsExperience").ints("yearsExperience")) {
+                    sum += value;
+                }
+            }
+        }
+        return sum;
+    }
+
+}
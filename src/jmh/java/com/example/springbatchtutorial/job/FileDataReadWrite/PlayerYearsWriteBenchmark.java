@@ -0,0 +1,67 @@
+package com.example.springbatchtutorial.job.FileDataReadWrite;
+
+import com.example.springbatchtutorial.job.FileDataReadWrite.dto.Player;
+import com.example.springbatchtutorial.job.FileDataReadWrite.dto.PlayerYears;
+import com.example.springbatchtutorial.job.FileDataReadWrite.writer.PlayerYearsLineAggregator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
+import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
+import org.springframework.batch.item.file.transform.LineAggregator;
+
+import java.time.Year;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Player 한 건을 PlayerYears 로 바꾸고 출력할 한 줄을 만드는 비용을 비교한다.
+ * - before : PlayerYears::new (아이템마다 Year.now()) + BeanWrapperFieldExtractor + DelimitedLineAggregator
+ * - after  : 기준 연도를 한 번만 구한 PlayerYears + PlayerYearsLineAggregator
+ *
+ * 할당량까지 보려면 -prof gc 를 함께 준다.
+ * run: ./gradlew jmh -PjmhIncludes=PlayerYearsWriteBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerYearsWriteBenchmark {
+
+    private Player player;
+    private int referenceYear;
+    private LineAggregator<PlayerYears> reflectionAggregator;
+    private LineAggregator<PlayerYears> directAggregator;
+
+    @Setup
+    public void setUp() {
+        player = new Player();
+        player.setID("AbduKa00");
+        player.setLastName("Abdul-Jabbar");
+        player.setFirstName("Karim");
+        player.setPosition("rb");
+        player.setBirthYear(1974);
+        player.setDebutYear(1996);
+
+        referenceYear = Year.now().getValue();
+
+        BeanWrapperFieldExtractor<PlayerYears> fieldExtractor = new BeanWrapperFieldExtractor<>();
+        fieldExtractor.setNames(new String[]{"ID", "lastName", "position", "yearsExperience"});
+        DelimitedLineAggregator<PlayerYears> delimitedLineAggregator = new DelimitedLineAggregator<>();
+        delimitedLineAggregator.setDelimiter(",");
+        delimitedLineAggregator.setFieldExtractor(fieldExtractor);
+        reflectionAggregator = delimitedLineAggregator;
+
+        directAggregator = new PlayerYearsLineAggregator();
+    }
+
+    @Benchmark
+    public String before() {
+        return reflectionAggregator.aggregate(new PlayerYears(player));
+    }
+
+    @Benchmark
+    public String after() {
+        return directAggregator.aggregate(new PlayerYears(player, referenceYear));
+    }
+
+}
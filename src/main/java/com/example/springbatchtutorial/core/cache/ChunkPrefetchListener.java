@@ -0,0 +1,27 @@
+package com.example.springbatchtutorial.core.cache;
+
+import org.springframework.batch.core.ItemReadListener;
+
+import java.util.function.Function;
+
+/**
+ * 아이템을 읽을 때마다 그 아이템의 키를 ReadThroughCache 에 prefetch 로 넘기는 ItemReadListener.
+ *
+ * chunk 기반 Step 은 chunk 의 아이템을 모두 읽은 다음에 Processor 를 호출하기 때문에,
+ * Processor 의 첫 get() 시점에는 chunk 의 모든 키가 모여있고 캐시에 없는 키만 IN (...) 쿼리 하나로 읽는다.
+ */
+public class ChunkPrefetchListener<T, K> implements ItemReadListener<T> {
+
+    private final ReadThroughCache<K, ?> cache;
+    private final Function<T, K> keyExtractor;
+
+    public ChunkPrefetchListener(ReadThroughCache<K, ?> cache, Function<T, K> keyExtractor) {
+        this.cache = cache;
+        this.keyExtractor = keyExtractor;
+    }
+
+    @Override
+    public void afterRead(T item) {
+        cache.prefetch(keyExtractor.apply(item));
+    }
+}
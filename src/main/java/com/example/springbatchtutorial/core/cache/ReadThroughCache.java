@@ -0,0 +1,151 @@
+package com.example.springbatchtutorial.core.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Processor 에서 아이템마다 조회하는 기준 정보 (상품 카탈로그, 수수료 규칙 ...) 를 담아두는 read-through 캐시.
+ * Step 마다 새로 만들도록 @StepScope Bean 으로 선언한다. (Step 이 끝나면 버려지므로 Step 사이에 오래된 값이 남지 않는다)
+ *
+ * - 크기는 maximumSize 개로 제한되고 Caffeine 의 W-TinyLFU 로 자주 쓰이는 키가 남는다.
+ * - ChunkPrefetchListener 가 chunk 에서 읽은 아이템의 키를 prefetch() 로 넘겨두면,
+ *   chunk 의 첫 get() 에서 캐시에 없는 키를 모아 bulkLoader 한 번 (IN (...) 쿼리 하나) 으로 읽는다.
+ * - prefetch 없이 get() 한 키는 그 키 하나만 bulkLoader 로 읽는다.
+ * - DB 에 없는 키도 "없음" 으로 캐시해서 다시 조회하지 않는다.
+ *
+ * 지표 : spring.batch.cache.lookups (cache=이름, result=hit|prefetched|miss), spring.batch.cache.loads (bulkLoader 호출 수)
+ *   hit        : 이전 chunk 에서 이미 읽어둔 키
+ *   prefetched : 이번 chunk 의 IN 쿼리로 읽은 키
+ *   miss       : prefetch 되지 않아 키 하나만 따로 읽은 키
+ *
+ * 멀티쓰레드 Step 에서도 쓸 수 있도록 prefetch 와 load 는 synchronized 로 처리한다.
+ */
+@Slf4j
+public class ReadThroughCache<K, V> {
+
+    private static final int MAX_KEYS_PER_LOAD = 1_000;
+
+    private final String name;
+    private final Function<Set<K>, Map<K, V>> bulkLoader;
+    private final Cache<K, Optional<V>> cache;
+    private final Set<K> pendingKeys = new LinkedHashSet<>();
+    private final Set<K> prefetchedKeys = new HashSet<>();
+
+    private final Counter hits;
+    private final Counter prefetched;
+    private final Counter misses;
+    private final Counter loads;
+
+    /**
+     * @param bulkLoader 키들의 값을 한 번에 읽는다. 없는 키는 결과 Map 에서 빠진다.
+     */
+    public ReadThroughCache(String name, long maximumSize, Function<Set<K>, Map<K, V>> bulkLoader, MeterRegistry meterRegistry) {
+        Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0");
+        this.name = name;
+        this.bulkLoader = bulkLoader;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        this.hits = lookups(meterRegistry, "hit");
+        this.prefetched = lookups(meterRegistry, "prefetched");
+        this.misses = lookups(meterRegistry, "miss");
+        this.loads = Counter.builder("spring.batch.cache.loads").tag("cache", name).register(meterRegistry);
+    }
+
+    /**
+     * 곧 get() 할 키를 알려둔다. 실제 조회는 다음 get() 에서 모아서 한 번에 한다.
+     */
+    public synchronized void prefetch(K key) {
+        if (key != null) {
+            pendingKeys.add(key);
+        }
+    }
+
+    /**
+     * @return 키의 값. 없는 키면 null
+     */
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        synchronized (this) {
+            loadPendingKeys();
+            if (prefetchedKeys.remove(key)) {
+                Optional<V> value = cache.getIfPresent(key);
+                if (value != null) {
+                    prefetched.increment();
+                    return value.orElse(null);
+                }
+            }
+        }
+        Optional<V> value = cache.getIfPresent(key);
+        if (value != null) {
+            hits.increment();
+            return value.orElse(null);
+        }
+        misses.increment();
+        synchronized (this) {
+            return load(Set.of(key)).get(key).orElse(null);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void loadPendingKeys() {
+        if (pendingKeys.isEmpty()) {
+            return;
+        }
+        prefetchedKeys.clear();
+        Set<K> missingKeys = new LinkedHashSet<>();
+        for (K key : pendingKeys) {
+            if (cache.getIfPresent(key) == null) {
+                missingKeys.add(key);
+            }
+        }
+        pendingKeys.clear();
+        if (!missingKeys.isEmpty()) {
+            load(missingKeys);
+            prefetchedKeys.addAll(missingKeys);
+            log.debug("{} cache prefetched {} keys", name, missingKeys.size());
+        }
+    }
+
+    private Map<K, Optional<V>> load(Set<K> keys) {
+        Map<K, Optional<V>> loaded = new HashMap<>();
+        List<K> remaining = new ArrayList<>(keys);
+        for (int from = 0; from < remaining.size(); from += MAX_KEYS_PER_LOAD) {
+            Set<K> batch = new LinkedHashSet<>(remaining.subList(from, Math.min(from + MAX_KEYS_PER_LOAD, remaining.size())));
+            Map<K, V> values = bulkLoader.apply(batch);
+            loads.increment();
+            for (K key : batch) {
+                loaded.put(key, Optional.ofNullable(values.get(key)));
+            }
+        }
+        cache.putAll(loaded);
+        return loaded;
+    }
+
+    private Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("spring.batch.cache.lookups")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.example.springbatchtutorial.core.chunk;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+import org.springframework.batch.repeat.policy.CompletionPolicySupport;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+
+/**
+ * chunk 하나가 걸린 시간(읽기 ~ 커밋)과 처리한 아이템 수를 보고 다음 chunk 의 크기(commit interval)를 정하는 CompletionPolicy.
+ *
+ * chunk 가 작으면 아이템 몇 개마다 커밋과 BATCH_STEP_EXECUTION 업데이트가 일어나서 실제 데이터보다 메타데이터 쓰기에 시간이 더 든다.
+ * 아이템 하나당 걸린 시간으로 targetDuration 안에 처리할 수 있는 아이템 수를 계산하고, 현재 크기와의 중간값으로 조금씩 키우거나 줄인다. (minSize ~ maxSize)
+ * chunk 가 실패(rollback)하면 크기를 절반으로 줄인다.
+ *
+ * 크기를 정하려면 chunk 의 시작과 끝을 알아야 하므로 Step 에 ChunkListener 로도 등록해야 한다.
+ * 정해진 chunk 크기는 spring.batch.chunk.size 로 기록된다.
+ *
+ * 현재 크기와 측정값은 StepExecution 마다 따로 (StepContext 의 attribute 로) 가진다.
+ * 그래서 하나의 worker Step 이 여러 파티션을 동시에 실행해도 파티션끼리 크기나 시작 시간을 덮어쓰지 않는다.
+ */
+@Slf4j
+public class AdaptiveChunkCompletionPolicy extends CompletionPolicySupport implements ChunkListener {
+
+    private static final String STATE_KEY = AdaptiveChunkCompletionPolicy.class.getName() + ".STATE";
+
+    private final boolean adaptive;
+    private final int initialSize;
+    private final int minSize;
+    private final int maxSize;
+    private final long targetNanos;
+
+    /**
+     * Step 밖에서 (StepContext 없이) 사용할 때의 상태
+     */
+    private final State detachedState;
+
+    public AdaptiveChunkCompletionPolicy(int initialSize) {
+        this(false, initialSize, initialSize, initialSize, Duration.ZERO);
+    }
+
+    public AdaptiveChunkCompletionPolicy(boolean adaptive, int initialSize, int minSize, int maxSize, Duration targetDuration) {
+        Assert.isTrue(0 < minSize && minSize <= initialSize && initialSize <= maxSize, "chunk size must satisfy 0 < minSize <= size <= maxSize");
+        this.adaptive = adaptive;
+        this.initialSize = initialSize;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetNanos = targetDuration.toNanos();
+        this.detachedState = new State(initialSize);
+    }
+
+    @Override
+    public RepeatContext start(RepeatContext parent) {
+        return new ChunkTerminationContext(parent, state(StepSynchronizationManager.getContext()).currentSize);
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context, RepeatStatus result) {
+        return super.isComplete(context, result) || isComplete(context);
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context) {
+        return context.getStartedCount() >= ((ChunkTerminationContext) context).size;
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        State state = state(context.getStepContext());
+        if (state.chunkSizeSummary == null) {
+            state.chunkSizeSummary = DistributionSummary.builder("spring.batch.chunk.size")
+                    .description("chunk 마다 정해진 commit interval")
+                    .tag("job", stepExecution.getJobExecution().getJobInstance().getJobName())
+                    .tag("step", stepExecution.getStepName())
+                    .register(Metrics.globalRegistry);
+        }
+        state.chunkSizeSummary.record(state.currentSize);
+        state.readCountBefore = stepExecution.getReadCount();
+        state.chunkStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        State state = state(context.getStepContext());
+        long elapsedNanos = System.nanoTime() - state.chunkStartNanos;
+        long items = context.getStepContext().getStepExecution().getReadCount() - state.readCountBefore;
+        if (!adaptive || items == 0) {
+            return;
+        }
+        long nanosPerItem = Math.max(1, elapsedNanos / items);
+        long ideal = targetNanos / nanosPerItem;
+        long next = Math.min((state.currentSize + ideal) / 2, state.currentSize * 2L);     // 한 번에 두 배 이상은 키우지 않는다.
+        if (next != state.currentSize) {
+            log.debug("chunk size {} -> {} ({} items in {} ms)", state.currentSize, next, items, elapsedNanos / 1_000_000);
+        }
+        resize(state, next);
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        if (adaptive) {
+            State state = state(context.getStepContext());
+            resize(state, state.currentSize / 2);
+        }
+    }
+
+    /**
+     * 지금 쓰레드에서 실행 중인 StepExecution 의 chunk 크기
+     * @return
+     */
+    public int getCurrentSize() {
+        return state(StepSynchronizationManager.getContext()).currentSize;
+    }
+
+    private State state(StepContext stepContext) {
+        if (stepContext == null) {
+            return detachedState;
+        }
+        synchronized (stepContext) {
+            State state = (State) stepContext.getAttribute(STATE_KEY);
+            if (state == null) {
+                state = new State(initialSize);
+                stepContext.setAttribute(STATE_KEY, state);
+            }
+            return state;
+        }
+    }
+
+    private void resize(State state, long size) {
+        state.currentSize = (int) Math.max(minSize, Math.min(maxSize, size));
+    }
+
+    private static class State {
+
+        private volatile int currentSize;
+        private long chunkStartNanos;
+        private long readCountBefore;
+        private DistributionSummary chunkSizeSummary;
+
+        private State(int currentSize) {
+            this.currentSize = currentSize;
+        }
+    }
+
+    private static class ChunkTerminationContext extends RepeatContextSupport {
+
+        private final int size;
+
+        private ChunkTerminationContext(RepeatContext parent, int size) {
+            super(parent);
+            this.size = size;
+        }
+    }
+}
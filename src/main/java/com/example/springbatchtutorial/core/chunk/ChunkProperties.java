@@ -0,0 +1,34 @@
+package com.example.springbatchtutorial.core.chunk;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * chunk 지향 Step 의 commit interval 설정.
+ *
+ * batch.chunk.size : 처음 chunk 크기 (adaptive 가 false 면 고정 크기)
+ * batch.chunk.adaptive : true 면 chunk 마다 걸린 시간을 보고 min-size ~ max-size 사이에서 크기를 조절한다.
+ * batch.chunk.target-duration : chunk (트랜잭션) 하나가 걸렸으면 하는 시간
+ */
+@ConfigurationProperties(prefix = "batch.chunk")
+public record ChunkProperties(
+        @DefaultValue("5") int size,
+        @DefaultValue("false") boolean adaptive,
+        @DefaultValue("5") int minSize,
+        @DefaultValue("1000") int maxSize,
+        @DefaultValue("1s") Duration targetDuration) {
+
+    /**
+     * CompletionPolicy 는 설정(min / max / target)을 Step 마다 따로 가지므로 Step 마다 새로 만든다.
+     * chunk 크기는 StepExecution 마다 따로 기억하므로 파티션 worker Step 처럼 여러 StepExecution 이 동시에 실행되는 Step 에서도 하나를 같이 쓸 수 있다.
+     * @return
+     */
+    public AdaptiveChunkCompletionPolicy newCompletionPolicy() {
+        if (!adaptive) {
+            return new AdaptiveChunkCompletionPolicy(size);
+        }
+        return new AdaptiveChunkCompletionPolicy(true, size, Math.min(minSize, size), Math.max(maxSize, size), targetDuration);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.springbatchtutorial.core.columnar;
+
+/**
+ * 컬럼 파일에 저장되는 컬럼의 종류와 인코딩.
+ */
+public enum ColumnType {
+
+    INT(1),         // int[] --> 앞 값과의 차이를 zigzag varint 로 저장 (연도처럼 비슷한 값이 이어지면 1 byte)
+    STRING(2),      // String[] --> 길이 varint + UTF-8
+    DICTIONARY(3),  // String[] --> row group 마다 사전 + 사전 번호를 bit packing (position, orderItem 처럼 종류가 적은 문자열)
+    TIMESTAMP(4);   // LocalDateTime[] --> UTC 기준 epoch micro 를 INT 와 같은 방식으로 저장
+
+    private final int code;
+
+    ColumnType(int code) {
+        this.code = code;
+    }
+
+    int code() {
+        return code;
+    }
+
+    static ColumnType from(int code) {
+        for (ColumnType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 컬럼 타입입니다. : " + code);
+    }
+}
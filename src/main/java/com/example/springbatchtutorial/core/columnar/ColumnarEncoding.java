@@ -0,0 +1,128 @@
+package com.example.springbatchtutorial.core.columnar;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.BitSet;
+
+/**
+ * 컬럼 블록을 만들고 읽을 때 쓰는 varint / zigzag / bit packing.
+ */
+final class ColumnarEncoding {
+
+    private ColumnarEncoding() {
+    }
+
+    static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    static void writeZigZag(ByteArrayOutputStream out, long value) {
+        writeVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    static long readZigZag(ByteBuffer in) {
+        long value = readVarLong(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    static String readString(ByteBuffer in) {
+        int length = (int) readVarLong(in);
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    /**
+     * null 인 row 의 BitSet. null 이 없으면 길이 0 만 쓴다.
+     */
+    static void writeNulls(ByteArrayOutputStream out, BitSet nulls) {
+        byte[] bitmap = nulls.toByteArray();
+        writeVarLong(out, bitmap.length);
+        out.writeBytes(bitmap);
+    }
+
+    static BitSet readNulls(ByteBuffer in) {
+        byte[] bitmap = new byte[(int) readVarLong(in)];
+        in.get(bitmap);
+        return BitSet.valueOf(bitmap);
+    }
+
+    /**
+     * 0 ~ (2^bitWidth - 1) 범위의 값을 bitWidth bit 씩 이어 붙여 쓴다. (bitWidth 는 31 이하)
+     */
+    static void writePacked(ByteArrayOutputStream out, int[] values, int count, int bitWidth) {
+        if (bitWidth == 0) {
+            return;
+        }
+        long buffer = 0;
+        int bits = 0;
+        for (int i = 0; i < count; i++) {
+            buffer |= (long) values[i] << bits;
+            bits += bitWidth;
+            while (bits >= 8) {
+                out.write((int) (buffer & 0xFF));
+                buffer >>>= 8;
+                bits -= 8;
+            }
+        }
+        if (bits > 0) {
+            out.write((int) (buffer & 0xFF));
+        }
+    }
+
+    static int[] readPacked(ByteBuffer in, int count, int bitWidth) {
+        int[] values = new int[count];
+        if (bitWidth == 0) {
+            return values;
+        }
+        long mask = (1L << bitWidth) - 1;
+        long buffer = 0;
+        int bits = 0;
+        for (int i = 0; i < count; i++) {
+            while (bits < bitWidth) {
+                buffer |= (long) (in.get() & 0xFF) << bits;
+                bits += 8;
+            }
+            values[i] = (int) (buffer & mask);
+            buffer >>>= bitWidth;
+            bits -= bitWidth;
+        }
+        return values;
+    }
+
+    static int bitWidth(int dictionarySize) {
+        return dictionarySize <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(dictionarySize - 1);
+    }
+
+    static long toEpochMicros(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.springbatchtutorial.core.columnar;
+
+import com.example.springbatchtutorial.core.columnar.ColumnarFormat.Header;
+import com.example.springbatchtutorial.core.columnar.ColumnarFormat.RowGroupIndex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * ColumnarItemWriter 가 쓴 파일을 row group 단위로 읽는다.
+ * 필요한 컬럼 이름만 넘기면 나머지 컬럼의 블록은 읽지 않고 건너뛴다.
+ *
+ * try (ColumnarFileReader reader = new ColumnarFileReader(path)) {
+ *     for (int i = 0; i < reader.rowGroupCount(); i++) {
+ *         int[] birthYears = reader.readRowGroup(i, "birthYear").ints("birthYear");
+ *     }
+ * }
+ */
+public class ColumnarFileReader implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final Header header;
+    private final List<RowGroupIndex> rowGroups;
+    private final Inflater inflater = new Inflater();
+
+    public ColumnarFileReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.header = ColumnarFormat.readHeader(channel);
+            this.rowGroups = readFooter();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public List<String> columnNames() {
+        return header.names();
+    }
+
+    public ColumnType columnType(String name) {
+        return header.types().get(indexOf(name));
+    }
+
+    public int rowGroupCount() {
+        return rowGroups.size();
+    }
+
+    public long rowCount() {
+        return rowGroups.stream().mapToLong(RowGroupIndex::rows).sum();
+    }
+
+    /**
+     * @param columns 읽을 컬럼. 없으면 모든 컬럼을 읽는다.
+     */
+    public RowGroup readRowGroup(int index, String... columns) throws IOException {
+        Set<String> wanted = columns.length == 0 ? Set.copyOf(header.names()) : Set.of(columns);
+        wanted.forEach(this::indexOf);
+
+        RowGroupIndex rowGroup = rowGroups.get(index);
+        int rows = rowGroup.rows();
+        long position = rowGroup.offset() + ColumnarFormat.ROW_GROUP_HEADER_BYTES;
+        RowGroup result = new RowGroup(rows);
+        for (int i = 0; i < header.names().size(); i++) {
+            ByteBuffer blockHeader = ColumnarFormat.read(channel, position, ColumnarFormat.BLOCK_HEADER_BYTES);
+            byte codec = blockHeader.get();
+            int rawLength = blockHeader.getInt();
+            int storedLength = blockHeader.getInt();
+            position += ColumnarFormat.BLOCK_HEADER_BYTES;
+            String name = header.names().get(i);
+            if (wanted.contains(name)) {
+                ByteBuffer block = ColumnarFormat.read(channel, position, storedLength);
+                if (codec == ColumnarFormat.CODEC_DEFLATE) {
+                    block = inflate(block, rawLength);
+                }
+                decode(result, name, header.types().get(i), block, rows);
+            }
+            position += storedLength;
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        channel.close();
+    }
+
+    private List<RowGroupIndex> readFooter() throws IOException {
+        long size = channel.size();
+        if (size < header.end() + ColumnarFormat.TRAILER_BYTES) {
+            throw new IOException("footer 가 없습니다. (쓰는 중이거나 비정상 종료된 파일)");
+        }
+        ByteBuffer trailer = ColumnarFormat.read(channel, size - ColumnarFormat.TRAILER_BYTES, ColumnarFormat.TRAILER_BYTES);
+        long footerOffset = trailer.getLong();
+        if (trailer.getInt() != ColumnarFormat.MAGIC) {
+            throw new IOException("footer 가 없습니다. (쓰는 중이거나 비정상 종료된 파일)");
+        }
+        ByteBuffer footer = ColumnarFormat.read(channel, footerOffset, (int) (size - ColumnarFormat.TRAILER_BYTES - footerOffset));
+        int count = footer.getInt();
+        List<RowGroupIndex> rowGroups = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rowGroups.add(new RowGroupIndex(footer.getLong(), footer.getInt()));
+        }
+        return rowGroups;
+    }
+
+    private ByteBuffer inflate(ByteBuffer block, int rawLength) throws IOException {
+        byte[] raw = new byte[rawLength];
+        inflater.reset();
+        inflater.setInput(block);
+        try {
+            int inflated = 0;
+            while (inflated < rawLength) {
+                int n = inflater.inflate(raw, inflated, rawLength - inflated);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IOException("압축된 블록이 깨졌습니다.");
+                }
+                inflated += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("압축된 블록이 깨졌습니다.", e);
+        }
+        return ByteBuffer.wrap(raw);
+    }
+
+    private static void decode(RowGroup result, String name, ColumnType type, ByteBuffer block, int rows) {
+        BitSet nulls = ColumnarEncoding.readNulls(block);
+        result.nulls.put(name, nulls);
+        switch (type) {
+            case INT -> {
+                int[] values = new int[rows];
+                long previous = 0;
+                for (int i = 0; i < rows; i++) {
+                    previous += ColumnarEncoding.readZigZag(block);
+                    values[i] = (int) previous;
+                }
+                result.values.put(name, values);
+            }
+            case TIMESTAMP -> {
+                LocalDateTime[] values = new LocalDateTime[rows];
+                long previous = 0;
+                for (int i = 0; i < rows; i++) {
+                    previous += ColumnarEncoding.readZigZag(block);
+                    values[i] = nulls.get(i) ? null : ColumnarEncoding.fromEpochMicros(previous);
+                }
+                result.values.put(name, values);
+            }
+            case STRING -> {
+                String[] values = new String[rows];
+                for (int i = 0; i < rows; i++) {
+                    values[i] = nulls.get(i) ? null : ColumnarEncoding.readString(block);
+                }
+                result.values.put(name, values);
+            }
+            case DICTIONARY -> {
+                String[] dictionary = new String[(int) ColumnarEncoding.readVarLong(block)];
+                for (int i = 0; i < dictionary.length; i++) {
+                    dictionary[i] = ColumnarEncoding.readString(block);
+                }
+                int[] codes = ColumnarEncoding.readPacked(block, rows, block.get());
+                String[] values = new String[rows];
+                for (int i = 0; i < rows; i++) {
+                    values[i] = nulls.get(i) ? null : dictionary[codes[i]];
+                }
+                result.values.put(name, values);
+            }
+        }
+    }
+
+    private int indexOf(String name) {
+        int index = header.names().indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("없는 컬럼입니다. : " + name + " (" + header.names() + ")");
+        }
+        return index;
+    }
+
+    /**
+     * row group 하나에서 읽은 컬럼들
+     */
+    public static class RowGroup {
+
+        private final int rowCount;
+        private final Map<String, Object> values = new HashMap<>();
+        private final Map<String, BitSet> nulls = new HashMap<>();
+
+        RowGroup(int rowCount) {
+            this.rowCount = rowCount;
+        }
+
+        public int rowCount() {
+            return rowCount;
+        }
+
+        /**
+         * INT 컬럼. null 인 row 의 값은 의미가 없으므로 isNull() 로 확인한다.
+         */
+        public int[] ints(String name) {
+            return (int[]) column(name);
+        }
+
+        public String[] strings(String name) {
+            return (String[]) column(name);
+        }
+
+        public LocalDateTime[] timestamps(String name) {
+            return (LocalDateTime[]) column(name);
+        }
+
+        public boolean isNull(String name, int row) {
+            column(name);
+            return nulls.get(name).get(row);
+        }
+
+        private Object column(String name) {
+            Object column = values.get(name);
+            if (column == null) {
+                throw new IllegalArgumentException("읽지 않은 컬럼입니다. : " + name + " (" + values.keySet() + ")");
+            }
+            return column;
+        }
+
+        @Override
+        public String toString() {
+            return "RowGroup{rows=" + rowCount + ", columns=" + Arrays.toString(values.keySet().toArray()) + "}";
+        }
+    }
+
+}
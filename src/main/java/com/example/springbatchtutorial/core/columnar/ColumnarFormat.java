@@ -0,0 +1,104 @@
+package com.example.springbatchtutorial.core.columnar;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 컬럼 파일 형식.
+ *
+ * header    : magic "SBC1" | 컬럼 수 (short) | (이름 길이 (short) | 이름 (UTF-8) | 컬럼 타입 (byte)) * 컬럼 수
+ * row group : row 수 (int) | (codec (byte) | 원래 길이 (int) | 저장된 길이 (int) | 블록) * 컬럼 수
+ * footer    : row group 수 (int) | (row group 위치 (long) | row 수 (int)) * row group 수 | footer 위치 (long) | magic "SBC1"
+ *
+ * 블록 길이가 블록 앞에 있기 때문에 필요한 컬럼만 읽고 나머지 컬럼은 건너뛸 수 있다.
+ * codec 1 은 Deflate 로 압축된 블록이다. (압축해서 작아질 때만 사용한다)
+ */
+final class ColumnarFormat {
+
+    static final int MAGIC = 0x53424331;            // "SBC1"
+    static final byte CODEC_RAW = 0;
+    static final byte CODEC_DEFLATE = 1;
+    static final int ROW_GROUP_HEADER_BYTES = 4;
+    static final int BLOCK_HEADER_BYTES = 1 + 4 + 4;
+    static final int TRAILER_BYTES = 8 + 4;
+
+    /**
+     * 이 크기보다 작은 블록은 압축하지 않는다.
+     */
+    static final int COMPRESSION_THRESHOLD = 256;
+
+    private static final int MAX_HEADER_BYTES = 64 * 1024;
+
+    private ColumnarFormat() {
+    }
+
+    record Header(List<String> names, List<ColumnType> types, long end) {
+    }
+
+    record RowGroupIndex(long offset, int rows) {
+    }
+
+    static byte[] encodeHeader(ColumnarSchema<?> schema) {
+        List<ColumnarSchema.Column<?>> columns = new ArrayList<>(schema.columns());
+        List<byte[]> names = columns.stream().map(column -> column.name().getBytes(StandardCharsets.UTF_8)).toList();
+        int length = 4 + 2 + names.stream().mapToInt(name -> 2 + name.length + 1).sum();
+        ByteBuffer header = ByteBuffer.allocate(length);
+        header.putInt(MAGIC).putShort((short) columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            header.putShort((short) names.get(i).length).put(names.get(i)).put((byte) columns.get(i).type().code());
+        }
+        return header.array();
+    }
+
+    static Header readHeader(FileChannel channel) throws IOException {
+        ByteBuffer buffer = read(channel, 0, (int) Math.min(channel.size(), MAX_HEADER_BYTES));
+        if (buffer.remaining() < 6 || buffer.getInt() != MAGIC) {
+            throw new IOException("컬럼 파일이 아닙니다.");
+        }
+        int count = buffer.getShort();
+        List<String> names = new ArrayList<>(count);
+        List<ColumnType> types = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[buffer.getShort()];
+            buffer.get(name);
+            names.add(new String(name, StandardCharsets.UTF_8));
+            types.add(ColumnType.from(buffer.get()));
+        }
+        return new Header(names, types, buffer.position());
+    }
+
+    /**
+     * header 뒤부터 end 까지 row group 을 따라가면서 위치와 row 수를 구한다. (footer 없이 쓰다 만 파일을 이어서 쓸 때)
+     */
+    static List<RowGroupIndex> scanRowGroups(FileChannel channel, Header header, long end) throws IOException {
+        List<RowGroupIndex> rowGroups = new ArrayList<>();
+        long position = header.end();
+        while (position < end) {
+            int rows = read(channel, position, ROW_GROUP_HEADER_BYTES).getInt();
+            rowGroups.add(new RowGroupIndex(position, rows));
+            position += ROW_GROUP_HEADER_BYTES;
+            for (int i = 0; i < header.names().size(); i++) {
+                ByteBuffer blockHeader = read(channel, position, BLOCK_HEADER_BYTES);
+                position += BLOCK_HEADER_BYTES + blockHeader.getInt(5);
+            }
+        }
+        if (position != end) {
+            throw new IOException("row group 경계가 아닌 위치입니다. : " + end);
+        }
+        return rowGroups;
+    }
+
+    static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("파일이 예상보다 짧습니다. (position " + position + ", length " + length + ")");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.springbatchtutorial.core.columnar;
+
+import com.example.springbatchtutorial.core.columnar.ColumnarFormat.RowGroupIndex;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.util.ExecutionContextUserSupport;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * 아이템을 한 줄씩 쓰지 않고 컬럼마다 벡터에 모았다가 row group 단위로 컬럼 블록을 쓰는 Writer.
+ * 읽을 때는 ColumnarFileReader 로 필요한 컬럼만 읽는다.
+ *
+ * - 같은 컬럼의 값이 이어져 있기 때문에 연도는 앞 값과의 차이만, position 같은 문자열은 사전 번호만 저장해서 CSV 보다 훨씬 작다.
+ * - row group 은 rowGroupSize 건이 모이거나 chunk 가 commit 될 때 쓴다. 그래서 chunk 크기가 작으면 row group 도 작아지므로 chunk 를 크게 잡는 것이 좋다.
+ * - commit 된 파일 위치를 ExecutionContext 에 저장하고, 재시작하면 그 위치로 잘라내서 이어 쓴다. footer 는 close() 할 때 쓴다.
+ */
+public class ColumnarItemWriter<T> implements ItemStreamWriter<T> {
+
+    private static final String OFFSET_KEY = "offset";
+
+    private final ExecutionContextUserSupport executionContextUserSupport = new ExecutionContextUserSupport(ClassUtils.getShortName(ColumnarItemWriter.class));
+    private final Path path;
+    private final ColumnarSchema<T> schema;
+    private final int rowGroupSize;
+
+    private final List<ColumnVector<T>> vectors = new ArrayList<>();
+    private final List<RowGroupIndex> rowGroups = new ArrayList<>();
+    private final Deflater deflater = new Deflater();
+    private FileChannel channel;
+    private DataOutputStream out;
+    private long position;
+    private int pendingRows;
+
+    public ColumnarItemWriter(Path path, ColumnarSchema<T> schema, int rowGroupSize) {
+        Assert.isTrue(rowGroupSize > 0, "rowGroupSize must be greater than 0");
+        this.path = path;
+        this.schema = schema;
+        this.rowGroupSize = rowGroupSize;
+    }
+
+    /**
+     * ExecutionContext 에 저장하는 key 의 prefix
+     */
+    public void setName(String name) {
+        executionContextUserSupport.setName(name);
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        vectors.clear();
+        schema.columns().forEach(column -> vectors.add(column.vectorFactory().get()));
+        rowGroups.clear();
+        pendingRows = 0;
+        String offsetKey = executionContextUserSupport.getKey(OFFSET_KEY);
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (executionContext.containsKey(offsetKey)) {
+                position = executionContext.getLong(offsetKey);
+                if (channel.size() < position) {
+                    throw new ItemStreamException(path + " 의 크기가 commit 된 위치 " + position + " 보다 작아서 이어서 쓸 수 없습니다.");
+                }
+                rowGroups.addAll(ColumnarFormat.scanRowGroups(channel, ColumnarFormat.readHeader(channel), position));
+                channel.truncate(position);
+                channel.position(position);
+                out = newOutput();
+            } else {
+                channel.truncate(0);
+                position = 0;
+                out = newOutput();
+                byte[] header = ColumnarFormat.encodeHeader(schema);
+                out.write(header);
+                position += header.length;
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("컬럼 파일을 열지 못했습니다. : " + path, e);
+        }
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        for (T item : chunk) {
+            for (ColumnVector<T> vector : vectors) {
+                vector.append(item);
+            }
+            if (++pendingRows == rowGroupSize) {
+                writeRowGroup();
+            }
+        }
+    }
+
+    /**
+     * chunk 가 commit 될 때 모아둔 아이템을 row group 으로 쓰고 파일 위치를 저장한다.
+     */
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            if (pendingRows > 0) {
+                writeRowGroup();
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new ItemStreamException("row group 을 쓰지 못했습니다. : " + path, e);
+        }
+        executionContext.putLong(executionContextUserSupport.getKey(OFFSET_KEY), position);
+    }
+
+    /**
+     * commit 되지 않은 아이템은 버리고 footer 를 쓴다. (정상 종료라면 마지막 update() 에서 모두 썼다)
+     */
+    @Override
+    public void close() throws ItemStreamException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            out.writeInt(rowGroups.size());
+            for (RowGroupIndex rowGroup : rowGroups) {
+                out.writeLong(rowGroup.offset());
+                out.writeInt(rowGroup.rows());
+            }
+            out.writeLong(position);
+            out.writeInt(ColumnarFormat.MAGIC);
+            out.close();
+        } catch (IOException e) {
+            throw new ItemStreamException("footer 를 쓰지 못했습니다. : " + path, e);
+        } finally {
+            vectors.forEach(ColumnVector::reset);
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            channel = null;
+        }
+    }
+
+    private void writeRowGroup() throws IOException {
+        rowGroups.add(new RowGroupIndex(position, pendingRows));
+        out.writeInt(pendingRows);
+        position += ColumnarFormat.ROW_GROUP_HEADER_BYTES;
+        for (ColumnVector<T> vector : vectors) {
+            byte[] raw = vector.encode();
+            byte codec = ColumnarFormat.CODEC_RAW;
+            byte[] stored = raw;
+            if (raw.length >= ColumnarFormat.COMPRESSION_THRESHOLD) {
+                byte[] deflated = deflate(raw);
+                if (deflated.length < raw.length) {
+                    codec = ColumnarFormat.CODEC_DEFLATE;
+                    stored = deflated;
+                }
+            }
+            out.writeByte(codec);
+            out.writeInt(raw.length);
+            out.writeInt(stored.length);
+            out.write(stored);
+            position += ColumnarFormat.BLOCK_HEADER_BYTES + stored.length;
+            vector.reset();
+        }
+        pendingRows = 0;
+    }
+
+    private byte[] deflate(byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream(raw.length / 2);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            deflated.write(buffer, 0, deflater.deflate(buffer));
+        }
+        return deflated.toByteArray();
+    }
+
+    private DataOutputStream newOutput() {
+        return new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.example.springbatchtutorial.core.columnar;
+
+import org.springframework.util.Assert;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * 아이템에서 어떤 값을 어떤 컬럼으로 저장할지 정의한다.
+ *
+ * ColumnarSchema.<PlayerYears>builder()
+ *         .dictionaryColumn("position", PlayerYears::getPosition)
+ *         .intColumn("birthYear", PlayerYears::getBirthYear)
+ *         .build();
+ */
+public final class ColumnarSchema<T> {
+
+    private final List<Column<T>> columns;
+
+    private ColumnarSchema(List<Column<T>> columns) {
+        this.columns = List.copyOf(columns);
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    List<Column<T>> columns() {
+        return columns;
+    }
+
+    record Column<T>(String name, ColumnType type, Supplier<ColumnVector<T>> vectorFactory) {
+    }
+
+    public static class Builder<T> {
+
+        private final List<Column<T>> columns = new ArrayList<>();
+        private final Set<String> names = new HashSet<>();
+
+        public Builder<T> intColumn(String name, ToIntFunction<T> extractor) {
+            return add(name, ColumnType.INT, () -> new ColumnVector.IntVector<>(extractor));
+        }
+
+        /**
+         * Integer 처럼 null 이 있을 수 있는 int 컬럼
+         */
+        public Builder<T> nullableIntColumn(String name, Function<T, Integer> extractor) {
+            return add(name, ColumnType.INT, () -> new ColumnVector.NullableIntVector<>(extractor));
+        }
+
+        public Builder<T> stringColumn(String name, Function<T, String> extractor) {
+            return add(name, ColumnType.STRING, () -> new ColumnVector.StringVector<>(extractor));
+        }
+
+        public Builder<T> dictionaryColumn(String name, Function<T, String> extractor) {
+            return add(name, ColumnType.DICTIONARY, () -> new ColumnVector.DictionaryVector<>(extractor));
+        }
+
+        public Builder<T> timestampColumn(String name, Function<T, LocalDateTime> extractor) {
+            return add(name, ColumnType.TIMESTAMP, () -> new ColumnVector.TimestampVector<>(extractor));
+        }
+
+        public ColumnarSchema<T> build() {
+            Assert.notEmpty(columns, "컬럼이 하나 이상 있어야 합니다.");
+            return new ColumnarSchema<>(columns);
+        }
+
+        private Builder<T> add(String name, ColumnType type, Supplier<ColumnVector<T>> vectorFactory) {
+            Assert.isTrue(names.add(name), "컬럼 이름이 중복되었습니다. : " + name);
+            columns.add(new Column<>(name, type, vectorFactory));
+            return this;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.springbatchtutorial.core.concurrent;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * batch.virtual-threads.enabled=true 이면 Job 실행과 파티션 / 멀티쓰레드 Step 을 가상 쓰레드에서 실행한다. (Java 21)
+ *
+ * batch.virtual-threads.max-concurrency : 동시에 실행되는 Step 작업(파티션) 수. 기본값은 커넥션 풀 크기 (spring.datasource.hikari.maximum-pool-size)
+ * batch.virtual-threads.max-concurrent-jobs : 동시에 실행되는 Job 수. 기본값은 커넥션 풀 크기의 절반 (최소 1)
+ *
+ * Job 쓰레드(JobRepository 갱신)와 파티션 쓰레드(chunk)가 같은 커넥션 풀을 나눠 쓰므로,
+ * 두 값을 모두 풀 크기로 두면 풀 크기의 두 배까지 커넥션을 기다리게 된다.
+ *
+ * Job 을 실행하는 쓰레드와 그 Job 의 파티션을 실행하는 쓰레드가 같은 Semaphore 를 나눠 쓰면,
+ * permit 을 모두 Job 이 잡고 있을 때 파티션이 permit 을 얻지 못해 Job 이 끝나지 않으므로 Semaphore 를 따로 둔다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "batch.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * 파티션 handler 와 멀티쓰레드 Step 이 사용하는 TaskExecutor. (trMigrationTaskExecutor 가 이 Bean 을 사용한다)
+     * @return
+     */
+    @Bean
+    public VirtualThreadTaskExecutor batchStepVirtualThreadTaskExecutor(
+            @Value("${batch.virtual-threads.max-concurrency:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrency) {
+        return new VirtualThreadTaskExecutor("batch-step-vt-", maxConcurrency);
+    }
+
+    /**
+     * BeanPostProcessor 는 다른 Bean 보다 먼저 만들어져야 하므로 static 으로 선언한다.
+     * @return
+     */
+    @Bean
+    public static VirtualThreadJobLauncherPostProcessor virtualThreadJobLauncherPostProcessor(
+            @Value("${batch.virtual-threads.max-concurrent-jobs:0}") int maxConcurrentJobs,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        int permits = maxConcurrentJobs > 0 ? maxConcurrentJobs : Math.max(1, poolSize / 2);
+        return new VirtualThreadJobLauncherPostProcessor(new VirtualThreadTaskExecutor("batch-job-vt-", permits));
+    }
+
+}
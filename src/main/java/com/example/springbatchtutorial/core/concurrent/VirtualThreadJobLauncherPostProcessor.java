@@ -0,0 +1,29 @@
+package com.example.springbatchtutorial.core.concurrent;
+
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.task.TaskExecutor;
+
+/**
+ * Spring Boot 가 만든 JobLauncher 에 TaskExecutor 를 지정하는 BeanPostProcessor.
+ *
+ * 기본 JobLauncher 는 SyncTaskExecutor 를 사용하기 때문에 JobLauncher.run() 을 호출한 쓰레드에서 Job 이 끝날 때까지 실행된다.
+ * TaskExecutor 를 지정하면 run() 은 STARTING 상태의 JobExecution 을 바로 반환하고, Job 은 TaskExecutor 의 쓰레드에서 실행된다.
+ * (다른 BeanPostProcessor 가 JobLauncher 를 감싸기 전에 지정하도록 초기화 전에 처리한다)
+ */
+public class VirtualThreadJobLauncherPostProcessor implements BeanPostProcessor {
+
+    private final TaskExecutor taskExecutor;
+
+    public VirtualThreadJobLauncherPostProcessor(TaskExecutor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof TaskExecutorJobLauncher jobLauncher) {
+            jobLauncher.setTaskExecutor(taskExecutor);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.springbatchtutorial.core.concurrent;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 작업마다 가상 쓰레드(virtual thread) 를 하나씩 만들어 실행하는 TaskExecutor.
+ *
+ * 가상 쓰레드는 JDBC 호출처럼 I/O 를 기다리는 동안 캐리어 쓰레드를 놓아주기 때문에 쓰레드 풀 크기를 미리 정할 필요가 없다.
+ * 대신 동시에 DB 커넥션을 잡는 작업 수는 커넥션 풀 크기를 넘으면 안되므로, maxConcurrency 개의 permit 을 가진 Semaphore 로 동시에 실행되는 작업 수를 제한한다.
+ * permit 을 기다리는 것도 가상 쓰레드 안에서 기다리기 때문에 execute() 를 호출한 쓰레드(스케쥴러, JobLauncher, manager step) 는 막히지 않는다.
+ */
+public class VirtualThreadTaskExecutor implements TaskExecutor {
+
+    private final ThreadFactory threadFactory;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+
+    public VirtualThreadTaskExecutor(String threadNamePrefix, int maxConcurrency) {
+        Assert.isTrue(maxConcurrency > 0, "maxConcurrency must be greater than 0");
+        this.threadFactory = Thread.ofVirtual().name(threadNamePrefix, 0).factory();
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        threadFactory.newThread(() -> {
+            // interrupt 로 permit 을 포기하면 task 가 실행되지 않아 FutureTask 를 기다리는 쪽이 영원히 기다리게 된다.
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        }).start();
+    }
+
+    /**
+     * @return 지금 permit 을 잡고 실행 중인 작업 수
+     */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.springbatchtutorial.core.context;
+
+import org.springframework.batch.core.repository.ExecutionContextSerializer;
+import org.springframework.batch.core.repository.dao.DefaultExecutionContextSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * ExecutionContext 를 타입 태그 + 값으로만 쓰는 작은 바이너리 형식으로 직렬화한다.
+ *
+ * 형식 : MAGIC(2) VERSION(1) FLAGS(1) [entry 수, (key, 타입 태그, 값) ...]
+ * - String, Integer, Long, Double, Boolean, byte[], HashMap, LinkedHashMap, ArrayList 는 클래스 이름 없이 태그 한 바이트로 쓴다.
+ *   (다른 구현 클래스는 복원할 때 타입이 바뀌지 않도록 Java 직렬화로 쓴다.)
+ * - 본문이 compressionThreshold 바이트보다 크면 Deflate 로 압축하고 FLAGS 에 표시한다.
+ *
+ * JdbcExecutionContextDao 는 직렬화 결과를 문자열 컬럼에 저장하기 때문에 마지막에 Base64 로 인코딩한다.
+ * 읽을 때 MAGIC 이 없으면 이전 형식(DefaultExecutionContextSerializer) 으로 저장된 context 로 보고 그대로 넘겨서 읽는다.
+ */
+public class CompactExecutionContextSerializer implements ExecutionContextSerializer {
+
+    private static final byte MAGIC_1 = (byte) 0xEC;
+    private static final byte MAGIC_2 = (byte) 0x5B;
+    private static final byte VERSION = 1;
+    private static final byte FLAG_DEFLATED = 1;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte BYTES = 6;
+    private static final byte HASH_MAP = 7;
+    private static final byte LINKED_HASH_MAP = 8;
+    private static final byte ARRAY_LIST = 9;
+    private static final byte SERIALIZED = 10;
+
+    private final int compressionThreshold;
+    private final ExecutionContextSerializer legacySerializer = new DefaultExecutionContextSerializer();
+
+    public CompactExecutionContextSerializer() {
+        this(1024);
+    }
+
+    /**
+     * @param compressionThreshold 본문이 이 크기(byte) 보다 크면 압축한다. 0 보다 작으면 압축하지 않는다.
+     */
+    public CompactExecutionContextSerializer(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public void serialize(Map<String, Object> context, OutputStream out) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (DataOutputStream data = new DataOutputStream(body)) {
+            writeVarInt(data, context.size());
+            for (Map.Entry<String, Object> entry : context.entrySet()) {
+                writeString(data, entry.getKey());
+                writeValue(data, entry.getValue());
+            }
+        }
+
+        byte flags = 0;
+        byte[] payload = body.toByteArray();
+        if (compressionThreshold >= 0 && payload.length > compressionThreshold) {
+            byte[] deflated = deflate(payload);
+            if (deflated.length < payload.length) {
+                payload = deflated;
+                flags |= FLAG_DEFLATED;
+            }
+        }
+
+        byte[] bytes = new byte[payload.length + 4];
+        bytes[0] = MAGIC_1;
+        bytes[1] = MAGIC_2;
+        bytes[2] = VERSION;
+        bytes[3] = flags;
+        System.arraycopy(payload, 0, bytes, 4, payload.length);
+        out.write(Base64.getEncoder().encode(bytes));
+    }
+
+    @Override
+    public Map<String, Object> deserialize(InputStream in) throws IOException {
+        byte[] encoded = in.readAllBytes();
+        byte[] bytes = decode(encoded);
+        if (bytes == null || bytes.length < 4 || bytes[0] != MAGIC_1 || bytes[1] != MAGIC_2) {
+            return legacySerializer.deserialize(new ByteArrayInputStream(encoded));
+        }
+        if (bytes[2] != VERSION) {
+            throw new IOException("Unsupported ExecutionContext format version: " + bytes[2]);
+        }
+
+        InputStream body = new ByteArrayInputStream(bytes, 4, bytes.length - 4);
+        if ((bytes[3] & FLAG_DEFLATED) != 0) {
+            body = new InflaterInputStream(body);
+        }
+        try (DataInputStream data = new DataInputStream(body)) {
+            int size = readVarInt(data);
+            Map<String, Object> context = new HashMap<>(Math.max(16, size * 4 / 3 + 1));
+            for (int i = 0; i < size; i++) {
+                context.put(readString(data), readValue(data));
+            }
+            return context;
+        }
+    }
+
+    private static byte[] decode(byte[] encoded) {
+        try {
+            return Base64.getDecoder().decode(encoded);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static byte[] deflate(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
+            deflater.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String string) {
+            out.writeByte(STRING);
+            writeString(out, string);
+        } else if (value instanceof Integer integer) {
+            out.writeByte(INTEGER);
+            out.writeInt(integer);
+        } else if (value instanceof Long longValue) {
+            out.writeByte(LONG);
+            out.writeLong(longValue);
+        } else if (value instanceof Double doubleValue) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(doubleValue);
+        } else if (value instanceof Boolean booleanValue) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(booleanValue);
+        } else if (value instanceof byte[] bytes) {
+            out.writeByte(BYTES);
+            writeVarInt(out, bytes.length);
+            out.write(bytes);
+        } else if (value.getClass() == HashMap.class || value.getClass() == LinkedHashMap.class) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.writeByte(value.getClass() == HashMap.class ? HASH_MAP : LINKED_HASH_MAP);
+            writeVarInt(out, map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(out, entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+        } else if (value.getClass() == ArrayList.class) {
+            List<?> list = (List<?>) value;
+            out.writeByte(ARRAY_LIST);
+            writeVarInt(out, list.size());
+            for (Object element : list) {
+                writeValue(out, element);
+            }
+        } else if (value instanceof Serializable) {
+            out.writeByte(SERIALIZED);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(bytes)) {
+                objectOut.writeObject(value);
+            }
+            writeVarInt(out, bytes.size());
+            bytes.writeTo(out);
+        } else {
+            throw new IllegalArgumentException("ExecutionContext value is not serializable: " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(in);
+            case INTEGER:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case BOOLEAN:
+                return in.readBoolean();
+            case BYTES:
+                byte[] bytes = new byte[readVarInt(in)];
+                in.readFully(bytes);
+                return bytes;
+            case HASH_MAP:
+            case LINKED_HASH_MAP: {
+                int size = readVarInt(in);
+                Map<Object, Object> map = type == HASH_MAP
+                        ? new HashMap<>(Math.max(16, size * 4 / 3 + 1))
+                        : new LinkedHashMap<>(Math.max(16, size * 4 / 3 + 1));
+                for (int i = 0; i < size; i++) {
+                    map.put(readValue(in), readValue(in));
+                }
+                return map;
+            }
+            case ARRAY_LIST: {
+                int size = readVarInt(in);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                return list;
+            }
+            case SERIALIZED:
+                byte[] serialized = new byte[readVarInt(in)];
+                in.readFully(serialized);
+                try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+                    return objectIn.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("Unable to deserialize ExecutionContext value", e);
+                }
+            default:
+                throw new IOException("Unknown ExecutionContext value type: " + type);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.springbatchtutorial.core.context;
+
+import org.springframework.batch.core.repository.ExecutionContextSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ExecutionContext 저장 방식 설정.
+ *
+ * batch.execution-context.serializer=compact : CompactExecutionContextSerializer 를 사용한다. (Spring Boot 가 ExecutionContextSerializer Bean 을 JobRepository 에 지정한다)
+ * batch.execution-context.compression-threshold : 이 크기(byte) 보다 큰 context 는 압축한다.
+ * batch.execution-context.skip-unchanged=true : 바뀌지 않은 ExecutionContext 는 다시 저장하지 않는다.
+ */
+@Configuration
+public class ExecutionContextConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "batch.execution-context", name = "serializer", havingValue = "compact")
+    public ExecutionContextSerializer compactExecutionContextSerializer(
+            @Value("${batch.execution-context.compression-threshold:1024}") int compressionThreshold) {
+        return new CompactExecutionContextSerializer(compressionThreshold);
+    }
+
+    /**
+     * BeanPostProcessor 는 다른 Bean 보다 먼저 만들어져야 하므로 static 으로 선언한다.
+     * @return
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "batch.execution-context", name = "skip-unchanged", havingValue = "true")
+    public static ExecutionContextWriteSkipper executionContextWriteSkipper() {
+        return new ExecutionContextWriteSkipper();
+    }
+
+}
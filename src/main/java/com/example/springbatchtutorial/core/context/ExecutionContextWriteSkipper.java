@@ -0,0 +1,143 @@
+package com.example.springbatchtutorial.core.context;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.batch.core.Entity;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JobRepository 를 감싸서 바뀌지 않은 ExecutionContext 는 다시 저장하지 않게 하는 BeanPostProcessor.
+ *
+ * Step 은 chunk 가 커밋될 때마다, Job 은 Step 이 끝날 때마다 updateExecutionContext() 를 호출해서 context 전체를 직렬화하고 UPDATE 한다.
+ * Execution 마다 마지막으로 저장한 context 의 해시(SHA-256) 를 기억해 두고, 지금 context 의 해시가 같으면 저장을 건너뛴다.
+ *
+ * ExecutionContext.isDirty() 는 Spring Batch 5 에서 "마지막 put 이 값을 바꿨는지" 만 나타내므로 (앞의 put 이 값을 바꿨어도 뒤의 put 이 같은 값이면 false)
+ * dirty 로는 판단하지 않는다.
+ *
+ * 저장하는 동안 다른 쓰레드(split flow 의 다른 Step) 가 Job context 에 put 할 수 있으므로,
+ * 저장 전과 후의 해시가 같을 때만 기억하고, 다르면 기억을 지워서 다음 호출에서 반드시 다시 저장한다.
+ * 같은 Execution 의 저장은 Execution 객체로 동기화한다.
+ */
+public class ExecutionContextWriteSkipper implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof JobRepository)) {
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.addInterface(JobRepository.class);
+        proxyFactory.addAdvice(new SkipUnchangedContextInterceptor());
+        return proxyFactory.getProxy();
+    }
+
+    static class SkipUnchangedContextInterceptor implements MethodInterceptor {
+
+        private final CompactExecutionContextSerializer serializer = new CompactExecutionContextSerializer(-1);
+        private final Map<String, byte[]> savedHashes = new ConcurrentHashMap<>();
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            String method = invocation.getMethod().getName();
+            if (method.equals("update")) {
+                Object result = invocation.proceed();
+                forgetFinished(invocation.getArguments()[0]);
+                return result;
+            }
+            if (!method.equals("updateExecutionContext")) {
+                return invocation.proceed();
+            }
+            Object execution = invocation.getArguments()[0];
+            ExecutionContext executionContext = executionContext(execution);
+            String key = key(execution);
+            if (executionContext == null || key == null) {
+                return invocation.proceed();
+            }
+
+            synchronized (execution) {
+                byte[] before = hash(executionContext);
+                if (before != null && Arrays.equals(before, savedHashes.get(key))) {
+                    return null;
+                }
+                Object result = invocation.proceed();
+                byte[] after = hash(executionContext);
+                if (before != null && Arrays.equals(before, after)) {
+                    savedHashes.put(key, before);
+                } else {
+                    savedHashes.remove(key);
+                }
+                return result;
+            }
+        }
+
+        /**
+         * 끝난 Execution 은 더 이상 context 를 저장하지 않으므로 해시를 지운다.
+         */
+        private void forgetFinished(Object execution) {
+            String key = key(execution);
+            if (key == null) {
+                return;
+            }
+            boolean running = execution instanceof StepExecution stepExecution
+                    ? stepExecution.getStatus().isRunning()
+                    : ((JobExecution) execution).isRunning();
+            if (!running) {
+                savedHashes.remove(key);
+            }
+        }
+
+        /**
+         * 키 순서로 정렬해서 직렬화한 결과의 해시. 해시를 구할 수 없으면 (직렬화할 수 없는 값) null 을 반환하고 항상 저장한다.
+         */
+        private byte[] hash(ExecutionContext executionContext) {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                Map<String, Object> sorted = new TreeMap<>();
+                for (Map.Entry<String, Object> entry : executionContext.entrySet()) {
+                    sorted.put(entry.getKey(), entry.getValue());
+                }
+                serializer.serialize(sorted, bytes);
+                return MessageDigest.getInstance("SHA-256").digest(bytes.toByteArray());
+            } catch (IOException | IllegalArgumentException | NoSuchAlgorithmException e) {
+                return null;
+            }
+        }
+
+        private static String key(Object execution) {
+            if (!(execution instanceof Entity entity) || entity.getId() == null) {
+                return null;
+            }
+            if (execution instanceof StepExecution) {
+                return "step-" + entity.getId();
+            }
+            if (execution instanceof JobExecution) {
+                return "job-" + entity.getId();
+            }
+            return null;
+        }
+
+        private static ExecutionContext executionContext(Object execution) {
+            if (execution instanceof StepExecution stepExecution) {
+                return stepExecution.getExecutionContext();
+            }
+            if (execution instanceof JobExecution jobExecution) {
+                return jobExecution.getExecutionContext();
+            }
+            return null;
+        }
+    }
+}
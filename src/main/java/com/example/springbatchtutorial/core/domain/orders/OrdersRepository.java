@@ -1,7 +1,16 @@
 package com.example.springbatchtutorial.core.domain.orders;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface OrdersRepository extends JpaRepository<Orders, Integer> {
 
+    /**
+     * keyset(seek) 페이징용 조회 메서드. 항상 0 페이지만 조회하므로 OFFSET 없이 WHERE id > ? AND id <= ? ORDER BY id LIMIT ? 로 실행된다.
+     * maxId 는 파티션의 id 범위 상한이며, 범위가 없으면 Integer.MAX_VALUE 를 넘긴다.
+     */
+    List<Orders> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Integer lastId, Integer maxId, Pageable pageable);
+
 }
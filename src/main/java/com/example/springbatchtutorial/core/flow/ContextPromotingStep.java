@@ -0,0 +1,55 @@
+package com.example.springbatchtutorial.core.flow;
+
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobInterruptedException;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.Set;
+
+/**
+ * Step 이 COMPLETED 로 끝나면 Step ExecutionContext 에 있는 keys 를 Job ExecutionContext 로 옮긴다.
+ * Job ExecutionContext 는 Step 이 끝난 뒤 SimpleStepHandler 가 저장한다.
+ */
+class ContextPromotingStep implements Step {
+
+    private final Step delegate;
+    private final Set<String> keys;
+
+    ContextPromotingStep(Step delegate, Set<String> keys) {
+        this.delegate = delegate;
+        this.keys = Set.copyOf(keys);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public boolean isAllowStartIfComplete() {
+        return delegate.isAllowStartIfComplete();
+    }
+
+    @Override
+    public int getStartLimit() {
+        return delegate.getStartLimit();
+    }
+
+    @Override
+    public void execute(StepExecution stepExecution) throws JobInterruptedException {
+        delegate.execute(stepExecution);
+        if (!ExitStatus.COMPLETED.getExitCode().equals(stepExecution.getExitStatus().getExitCode())) {
+            return;
+        }
+        ExecutionContext stepContext = stepExecution.getExecutionContext();
+        ExecutionContext jobContext = stepExecution.getJobExecution().getExecutionContext();
+        for (String key : keys) {
+            if (stepContext.containsKey(key)) {
+                jobContext.put(key, stepContext.get(key));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,177 @@
+package com.example.springbatchtutorial.core.flow;
+
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.batch.core.job.flow.FlowExecution;
+import org.springframework.batch.core.job.flow.FlowExecutionException;
+import org.springframework.batch.core.job.flow.FlowExecutionStatus;
+import org.springframework.batch.core.job.flow.FlowExecutor;
+import org.springframework.batch.core.job.flow.State;
+import org.springframework.batch.core.job.flow.support.state.MaxValueFlowExecutionAggregator;
+import org.springframework.batch.core.job.flow.support.state.StepState;
+import org.springframework.batch.core.scope.context.JobSynchronizationManager;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * DependencyFlowBuilder 가 만드는 Flow. Step 마다 앞의 Step 들이 모두 끝나면 바로 TaskExecutor 에 실행을 맡긴다.
+ *
+ * Flow 를 실행하는 쓰레드가 실행할 수 있는 Step 을 TaskExecutor 에 넘기고, Step 이 끝날 때마다 그 Step 을 기다리던 Step 중 실행할 수 있게 된 Step 을 넘긴다.
+ * split flow 와 같이 Step 실행은 FlowExecutor.executeStep() 에 맡기므로 재시작할 때 COMPLETED 인 Step 은 다시 실행되지 않는다.
+ *
+ * Step 이름은 DependencyFlowBuilder 에 등록한 이름을 쓰고, Step 은 Job 이 실행될 때 FlowExecutor 에서만 사용한다. (@JobScope proxy)
+ *
+ * Step 하나가 FAILED / STOPPED 로 끝나거나 예외가 나면 더 이상 새 Step 을 시작하지 않고, 실행 중인 Step 이 끝나기를 기다린 뒤
+ * 가장 나쁜 상태로 끝난다. (SplitState 와 같이 MaxValueFlowExecutionAggregator 로 합친다) 시작하지 않은 Step 은 재시작할 때 실행된다.
+ */
+class DependencyFlow implements Flow {
+
+    private final String name;
+    private final List<String> stateNames = new ArrayList<>();
+    private final List<Step> steps;
+    private final List<List<Integer>> predecessors;
+    private final TaskExecutor taskExecutor;
+    private final Map<String, State> states = new LinkedHashMap<>();
+
+    DependencyFlow(String name, List<String> stepNames, List<Step> steps, List<List<Integer>> predecessors, TaskExecutor taskExecutor) {
+        this.name = name;
+        this.steps = List.copyOf(steps);
+        this.predecessors = List.copyOf(predecessors);
+        this.taskExecutor = taskExecutor;
+        for (int i = 0; i < this.steps.size(); i++) {
+            String stateName = name + "." + stepNames.get(i);
+            stateNames.add(stateName);
+            states.put(stateName, new StepState(stateName, this.steps.get(i)));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public State getState(String stateName) {
+        return states.get(stateName);
+    }
+
+    @Override
+    public Collection<State> getStates() {
+        return states.values();
+    }
+
+    @Override
+    public FlowExecution start(FlowExecutor executor) throws FlowExecutionException {
+        int size = steps.size();
+        int[] waiting = new int[size];
+        List<List<Integer>> successors = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            successors.add(new ArrayList<>());
+        }
+        for (int i = 0; i < size; i++) {
+            waiting[i] = predecessors.get(i).size();
+            for (int j : predecessors.get(i)) {
+                successors.get(j).add(i);
+            }
+        }
+
+        BlockingQueue<Finished> finished = new LinkedBlockingQueue<>();
+        List<FlowExecution> results = new ArrayList<>();
+        Throwable failure = null;
+        boolean stopping = false;
+        int running = 0;
+        for (int i = 0; i < size && !stopping; i++) {
+            if (waiting[i] == 0) {
+                failure = submit(i, executor, finished);
+                stopping = failure != null;
+                running += stopping ? 0 : 1;
+            }
+        }
+
+        while (running > 0) {
+            Finished done = take(finished);
+            running--;
+            if (done.exception() != null) {
+                failure = failure == null ? done.exception() : failure;
+                stopping = true;
+                continue;
+            }
+            results.add(new FlowExecution(done.stateName(), done.status()));
+            if (done.status().isFail() || done.status().isStop()) {
+                stopping = true;
+            }
+            if (stopping) {
+                // 나쁜 상태로 끝난 Step 이 있으면 새 Step 은 시작하지 않고 실행 중인 Step 만 기다린다.
+                continue;
+            }
+            for (int next : successors.get(done.index())) {
+                if (--waiting[next] == 0 && !stopping) {
+                    failure = submit(next, executor, finished);
+                    stopping = failure != null;
+                    running += stopping ? 0 : 1;
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw new FlowExecutionException(name + " 의 Step 실행 중 예외가 발생했습니다.", failure);
+        }
+        FlowExecutionStatus status = results.isEmpty()
+                ? FlowExecutionStatus.COMPLETED
+                : new MaxValueFlowExecutionAggregator().aggregate(results);
+        FlowExecution result = new FlowExecution(name, status);
+        executor.close(result);
+        return result;
+    }
+
+    /**
+     * 완료된 Step 은 FlowExecutor 가 건너뛰므로 처음부터 다시 실행해도 이어서 실행된다.
+     */
+    @Override
+    public FlowExecution resume(String stateName, FlowExecutor executor) throws FlowExecutionException {
+        return start(executor);
+    }
+
+    private Throwable submit(int index, FlowExecutor executor, BlockingQueue<Finished> finished) {
+        Step step = steps.get(index);
+        String stateName = stateNames.get(index);
+        try {
+            JobExecution jobExecution = executor.getJobExecution();
+            taskExecutor.execute(() -> {
+                // Job scope 는 쓰레드마다 따로 있으므로 Step 을 실행하는 쓰레드에도 JobExecution 을 등록한다. (@JobScope Step proxy)
+                JobSynchronizationManager.register(jobExecution);
+                try {
+                    finished.add(new Finished(index, stateName, new FlowExecutionStatus(executor.executeStep(step)), null));
+                } catch (Throwable e) {
+                    finished.add(new Finished(index, stateName, null, e));
+                } finally {
+                    JobSynchronizationManager.release();
+                }
+            });
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private Finished take(BlockingQueue<Finished> finished) throws FlowExecutionException {
+        try {
+            return finished.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FlowExecutionException(name + " 의 Step 이 끝나기를 기다리는 중에 interrupt 되었습니다.", e);
+        }
+    }
+
+    private record Finished(int index, String stateName, FlowExecutionStatus status, Throwable exception) {
+    }
+
+}
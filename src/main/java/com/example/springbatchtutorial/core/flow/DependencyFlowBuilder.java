@@ -0,0 +1,139 @@
+package com.example.springbatchtutorial.core.flow;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Step 이 ExecutionContext 에서 읽는 키(reads) 와 쓰는 키(writes) 를 선언하면, 서로 의존하지 않는 Step 을 동시에 실행하는 Flow 를 만든다.
+ *
+ * 선언한 순서가 순차 실행했을 때의 순서이며, 앞의 Step A 와 뒤의 Step B 가 아래 중 하나에 해당하면 B 는 A 가 끝난 뒤에 실행된다.
+ * - A 가 쓰는 키를 B 가 읽는다.
+ * - A 와 B 가 같은 키를 쓴다.
+ * - A 가 읽는 키를 B 가 쓴다.
+ * 의존 관계는 항상 앞의 Step 에서 뒤의 Step 으로만 생기므로 순환이 생기지 않는다.
+ * 각 Step 은 자신이 의존하는 Step 이 모두 끝나면 바로 TaskExecutor 에서 실행된다. 단계(stage) 로 묶지 않으므로 의존하지 않는 다른 Step 이 오래 걸려도 기다리지 않는다.
+ * (실행 방식은 DependencyFlow 참고)
+ *
+ * writes 로 선언한 키는 Step 의 ExecutionContext 에 넣으면 Step 이 COMPLETED 로 끝난 뒤 Job 의 ExecutionContext 로 옮겨진다. (ExecutionContextPromotionListener 와 같다)
+ * 동시에 실행될 수 있는 Step 들은 같은 키를 쓰지 않으므로 어떤 Step 이 먼저 끝나더라도 합쳐진 Job ExecutionContext 는 항상 같다.
+ * 선언하지 않은 키를 Job ExecutionContext 에 직접 쓰면 이 보장이 깨지므로 주의한다.
+ *
+ * new DependencyFlowBuilder("nightlyFlow", taskExecutor)
+ *         .step("extractStep", extractStep).writes("extractCount")
+ *         .step("reportStep", reportStep).reads("extractCount")
+ *         .build();
+ *
+ * @JobScope Step 은 Job 이 실행되기 전에는 getName() 을 호출할 수 없으므로 (Scope 'job' is not active) Step 이름은 따로 받는다.
+ * Step 은 Job 이 실행될 때 FlowExecutor 에서만 사용한다.
+ */
+@Slf4j
+public class DependencyFlowBuilder {
+
+    private final String name;
+    private final TaskExecutor taskExecutor;
+    private final List<StepNode> nodes = new ArrayList<>();
+
+    public DependencyFlowBuilder(String name, TaskExecutor taskExecutor) {
+        this.name = name;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Step 을 추가한다. stepName 은 Step 의 이름과 같아야 한다.
+     * @return
+     */
+    public DependencyFlowBuilder step(String stepName, Step step) {
+        nodes.add(new StepNode(stepName, step));
+        return this;
+    }
+
+    /**
+     * 마지막으로 추가한 Step 이 읽는 키
+     * @return
+     */
+    public DependencyFlowBuilder reads(String... keys) {
+        Collections.addAll(lastNode().reads, keys);
+        return this;
+    }
+
+    /**
+     * 마지막으로 추가한 Step 이 쓰는 키
+     * @return
+     */
+    public DependencyFlowBuilder writes(String... keys) {
+        Collections.addAll(lastNode().writes, keys);
+        return this;
+    }
+
+    public Flow build() {
+        Assert.notEmpty(nodes, "step 이 하나 이상 있어야 합니다.");
+        List<String> stepNames = new ArrayList<>();
+        List<Step> steps = new ArrayList<>();
+        List<List<Integer>> predecessors = predecessors();
+        for (int i = 0; i < nodes.size(); i++) {
+            StepNode node = nodes.get(i);
+            stepNames.add(node.name);
+            steps.add(node.writes.isEmpty() ? node.step : new ContextPromotingStep(node.step, node.writes));
+            log.info("{} 실행 계획 : {} <- {}", name, node.name, predecessors.get(i).stream()
+                    .map(j -> nodes.get(j).name)
+                    .collect(Collectors.toList()));
+        }
+        return new DependencyFlow(name, stepNames, steps, predecessors, taskExecutor);
+    }
+
+    /**
+     * 각 Step 이 끝나기를 기다려야 하는 (앞에 선언된) Step 의 index
+     */
+    private List<List<Integer>> predecessors() {
+        List<List<Integer>> predecessors = new ArrayList<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            List<Integer> before = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                if (nodes.get(j).mustRunBefore(nodes.get(i))) {
+                    before.add(j);
+                }
+            }
+            predecessors.add(before);
+        }
+        return predecessors;
+    }
+
+    private StepNode lastNode() {
+        Assert.state(!nodes.isEmpty(), "reads / writes 는 step() 다음에 호출해야 합니다.");
+        return nodes.get(nodes.size() - 1);
+    }
+
+    private static class StepNode {
+
+        private final String name;
+        private final Step step;
+        private final Set<String> reads = new LinkedHashSet<>();
+        private final Set<String> writes = new LinkedHashSet<>();
+
+        StepNode(String name, Step step) {
+            Assert.hasText(name, "step 이름이 있어야 합니다.");
+            this.name = name;
+            this.step = step;
+        }
+
+        /**
+         * 이 Step 이 뒤에 선언된 next 보다 먼저 끝나야 하는지
+         */
+        boolean mustRunBefore(StepNode next) {
+            return !Collections.disjoint(writes, next.reads)
+                    || !Collections.disjoint(writes, next.writes)
+                    || !Collections.disjoint(reads, next.writes);
+        }
+    }
+
+}
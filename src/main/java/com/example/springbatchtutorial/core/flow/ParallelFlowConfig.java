@@ -0,0 +1,32 @@
+package com.example.springbatchtutorial.core.flow;
+
+import com.example.springbatchtutorial.core.concurrent.VirtualThreadTaskExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+/**
+ * DependencyFlowBuilder 가 만든 Flow 의 Step 을 실행하는 TaskExecutor.
+ *
+ * batch.parallel-flow.max-concurrency : 하나의 Flow 에서 동시에 실행되는 Step 수
+ *
+ * Step 을 실행하는 쓰레드는 Step 이 끝날 때까지 기다리기 때문에, 파티션을 실행하는 batchStepVirtualThreadTaskExecutor 와 같은 Semaphore 를 쓰면
+ * permit 을 모두 Step 이 잡고 있을 때 파티션이 실행되지 못하므로 따로 만든다.
+ */
+@Configuration
+public class ParallelFlowConfig {
+
+    @Bean
+    public TaskExecutor parallelFlowTaskExecutor(@Value("${batch.parallel-flow.max-concurrency:4}") int maxConcurrency,
+                                                 @Value("${batch.virtual-threads.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return new VirtualThreadTaskExecutor("parallel-flow-vt-", maxConcurrency);
+        }
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("parallel-flow-");
+        taskExecutor.setConcurrencyLimit(maxConcurrency);
+        return taskExecutor;
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.example.springbatchtutorial.core.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 모든 Step 에 BatchMetricsListener 를 등록한다.
+ *
+ * 지표는 Spring Batch 의 기본 지표와 같이 Metrics.globalRegistry 에 기록되고,
+ * Spring Boot 가 만든 PrometheusMeterRegistry 가 globalRegistry 에 추가되기 때문에 Prometheus 형식으로 내보낼 수 있다.
+ */
+@Configuration
+public class BatchMetricsConfig {
+
+    /**
+     * BeanPostProcessor 는 다른 Bean 보다 먼저 만들어져야 하므로 static 으로 선언한다.
+     * @return
+     */
+    @Bean
+    public static BatchMetricsRegistrar batchMetricsRegistrar(ObjectProvider<PrometheusMeterRegistry> prometheusMeterRegistry,
+                                                              @Value("${batch.metrics.export-file:}") String exportFile) {
+        return new BatchMetricsRegistrar(new BatchMetricsListener(Metrics.globalRegistry), prometheusMeterRegistry, exportFile);
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.example.springbatchtutorial.core.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Step 과 chunk 단위의 지표를 Micrometer 로 기록하는 Listener. (태그: job, step)
+ *
+ * - spring.batch.chunk.commit / spring.batch.chunk.rollback : 커밋된 chunk 수, 롤백된 chunk 수
+ * - spring.batch.step.items : 쓰기까지 끝난 아이템 수 (chunk 가 커밋될 때마다 증가하므로 rate 로 초당 처리량을 볼 수 있다)
+ * - spring.batch.step.skip : 건너뛴 아이템 수 (태그 phase = read | process | write)
+ * - spring.batch.step.throughput : Step 이 끝났을 때의 초당 처리 아이템 수
+ *
+ * 아이템 하나를 읽고 / 가공하고 / chunk 를 쓰는 시간은 Spring Batch 가 spring.batch.item.read, spring.batch.item.process, spring.batch.chunk.write 로 이미 기록한다.
+ *
+ * 하나의 Step 이 여러 쓰레드(파티션)에서 동시에 실행될 수 있기 때문에 이전 값은 StepExecution 별로 따로 기억한다.
+ */
+public class BatchMetricsListener implements StepExecutionListener, ChunkListener {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Long, long[]> lastCounts = new ConcurrentHashMap<>();
+
+    public BatchMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        lastCounts.put(stepExecution.getId(), counts(stepExecution));
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        Counter.builder("spring.batch.chunk.commit").tags(tags(stepExecution)).register(meterRegistry).increment();
+        recordProgress(stepExecution);
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        Counter.builder("spring.batch.chunk.rollback").tags(tags(stepExecution)).register(meterRegistry).increment();
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        recordProgress(stepExecution);
+        lastCounts.remove(stepExecution.getId());
+
+        LocalDateTime startTime = stepExecution.getStartTime();
+        if (startTime != null) {
+            long millis = Math.max(1, Duration.between(startTime, LocalDateTime.now()).toMillis());
+            DistributionSummary.builder("spring.batch.step.throughput")
+                    .baseUnit("items/s")
+                    .tags(tags(stepExecution))
+                    .register(meterRegistry)
+                    .record(stepExecution.getWriteCount() * 1000.0 / millis);
+        }
+        return stepExecution.getExitStatus();
+    }
+
+    /**
+     * 마지막으로 기록한 이후에 늘어난 만큼만 카운터에 더한다.
+     */
+    private void recordProgress(StepExecution stepExecution) {
+        long[] current = counts(stepExecution);
+        long[] last = lastCounts.put(stepExecution.getId(), current);
+        if (last == null) {
+            last = new long[current.length];
+        }
+        Tags tags = tags(stepExecution);
+        increment(Counter.builder("spring.batch.step.items").tags(tags), current[0] - last[0]);
+        increment(Counter.builder("spring.batch.step.skip").tags(tags).tag("phase", "read"), current[1] - last[1]);
+        increment(Counter.builder("spring.batch.step.skip").tags(tags).tag("phase", "process"), current[2] - last[2]);
+        increment(Counter.builder("spring.batch.step.skip").tags(tags).tag("phase", "write"), current[3] - last[3]);
+    }
+
+    private void increment(Counter.Builder counter, long amount) {
+        if (amount > 0) {
+            counter.register(meterRegistry).increment(amount);
+        }
+    }
+
+    private static long[] counts(StepExecution stepExecution) {
+        return new long[]{
+                stepExecution.getWriteCount(),
+                stepExecution.getReadSkipCount(),
+                stepExecution.getProcessSkipCount(),
+                stepExecution.getWriteSkipCount()
+        };
+    }
+
+    private static Tags tags(StepExecution stepExecution) {
+        return Tags.of(
+                "job", stepExecution.getJobExecution().getJobInstance().getJobName(),
+                "step", stepExecution.getStepName());
+    }
+}
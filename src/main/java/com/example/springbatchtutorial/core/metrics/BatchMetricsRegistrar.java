@@ -0,0 +1,62 @@
+package com.example.springbatchtutorial.core.metrics;
+
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.springframework.batch.core.job.AbstractJob;
+import org.springframework.batch.core.step.AbstractStep;
+import org.springframework.batch.core.step.tasklet.TaskletStep;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Path;
+
+/**
+ * Step, Job Bean 이 만들어질 때 지표 Listener 를 등록해주는 BeanPostProcessor.
+ * 각 Job 설정에서 .listener() 를 따로 명시하지 않아도 모든 Step 에 BatchMetricsListener 가 붙는다.
+ * (@JobScope Step 은 Job 이 실행될 때 만들어지므로 그때 등록된다)
+ *
+ * batch.metrics.export-file 이 설정되어 있으면 Job 이 끝날 때 지표를 파일로도 남긴다.
+ */
+public class BatchMetricsRegistrar implements BeanPostProcessor {
+
+    private final BatchMetricsListener batchMetricsListener;
+    private final ObjectProvider<PrometheusMeterRegistry> prometheusMeterRegistry;
+    private final String exportFile;
+
+    private MetricsFileExportListener metricsFileExportListener;
+
+    public BatchMetricsRegistrar(BatchMetricsListener batchMetricsListener,
+                                 ObjectProvider<PrometheusMeterRegistry> prometheusMeterRegistry,
+                                 String exportFile) {
+        this.batchMetricsListener = batchMetricsListener;
+        this.prometheusMeterRegistry = prometheusMeterRegistry;
+        this.exportFile = exportFile;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof AbstractStep step) {
+            step.registerStepExecutionListener(batchMetricsListener);
+        }
+        if (bean instanceof TaskletStep step) {
+            step.registerChunkListener(batchMetricsListener);
+        }
+        if (bean instanceof AbstractJob job && StringUtils.hasText(exportFile)) {
+            MetricsFileExportListener listener = metricsFileExportListener();
+            if (listener != null) {
+                job.registerJobExecutionListener(listener);
+            }
+        }
+        return bean;
+    }
+
+    private synchronized MetricsFileExportListener metricsFileExportListener() {
+        if (metricsFileExportListener == null) {
+            PrometheusMeterRegistry registry = prometheusMeterRegistry.getIfAvailable();
+            if (registry != null) {
+                metricsFileExportListener = new MetricsFileExportListener(registry, Path.of(exportFile));
+            }
+        }
+        return metricsFileExportListener;
+    }
+}
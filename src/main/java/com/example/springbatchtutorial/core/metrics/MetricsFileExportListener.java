@@ -0,0 +1,43 @@
+package com.example.springbatchtutorial.core.metrics;
+
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Job 이 끝날 때마다 지금까지의 지표를 Prometheus text 형식으로 파일에 쓴다.
+ *
+ * Batch 는 한 번 실행되고 종료되는 경우가 많아서 scrape 주기 안에 프로세스가 사라질 수 있다.
+ * 파일로 남겨두면 node_exporter 의 textfile collector 가 읽어갈 수 있다. (임시 파일에 쓴 뒤 move 하므로 반쯤 쓰인 파일을 읽지 않는다)
+ */
+@Slf4j
+public class MetricsFileExportListener implements JobExecutionListener {
+
+    private final PrometheusMeterRegistry prometheusMeterRegistry;
+    private final Path exportFile;
+
+    public MetricsFileExportListener(PrometheusMeterRegistry prometheusMeterRegistry, Path exportFile) {
+        this.prometheusMeterRegistry = prometheusMeterRegistry;
+        this.exportFile = exportFile;
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        try {
+            Path directory = exportFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, exportFile.getFileName().toString(), ".tmp");
+            Files.writeString(temp, prometheusMeterRegistry.scrape(), StandardCharsets.UTF_8);
+            Files.move(temp, exportFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to export metrics to {}", exportFile, e);
+        }
+    }
+}
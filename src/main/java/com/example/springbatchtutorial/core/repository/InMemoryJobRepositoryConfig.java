@@ -0,0 +1,30 @@
+package com.example.springbatchtutorial.core.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+/**
+ * 메타데이터를 MySQL 에 남길 필요가 없는 Job 은 in-memory JobRepository 로 실행한다.
+ *
+ * batch.in-memory-repository.jobs : in-memory JobRepository 를 사용할 Job 이름 (쉼표로 구분, 없으면 모든 Job 이 기본 JobRepository 를 사용)
+ *
+ * 한 줄을 출력하는 tasklet Job 도 실행할 때마다 JobInstance / JobExecution / StepExecution / ExecutionContext 를 MySQL 에 여러 번 쓰고 읽는다.
+ * 재시작이 필요 없는 짧은 Job 은 이 왕복을 내장 H2 로 돌려서 실행 시간을 줄인다.
+ */
+@Configuration
+public class InMemoryJobRepositoryConfig {
+
+    /**
+     * BeanPostProcessor 는 다른 Bean 보다 먼저 만들어져야 하므로 static 으로 선언한다.
+     * @return
+     */
+    @Bean
+    public static InMemoryJobRepositoryPostProcessor inMemoryJobRepositoryPostProcessor(
+            @Value("${batch.in-memory-repository.jobs:}") Set<String> jobNames) {
+        return new InMemoryJobRepositoryPostProcessor(jobNames);
+    }
+
+}
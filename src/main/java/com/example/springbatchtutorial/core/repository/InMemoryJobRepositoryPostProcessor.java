@@ -0,0 +1,183 @@
+package com.example.springbatchtutorial.core.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.scope.ScopedObject;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.job.AbstractJob;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.core.scope.context.JobContext;
+import org.springframework.batch.core.scope.context.JobSynchronizationManager;
+import org.springframework.batch.core.step.AbstractStep;
+import org.springframework.batch.core.step.tasklet.TaskletStep;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * batch.in-memory-repository.jobs 에 명시한 Job 을 내장 H2 위의 JobRepository 로 실행하게 하는 BeanPostProcessor.
+ *
+ * - Job : 명시한 이름의 Job Bean 이 만들어질 때 in-memory JobRepository 로 바꾼다.
+ * - Step : @JobScope Step 은 Job 이 실행될 때 만들어지므로, 실행 중인 Job 의 이름을 보고 in-memory JobRepository 로 바꾼다.
+ *          TaskletStep 은 ResourcelessTransactionManager 로 바꿔서 tasklet 마다 MySQL 트랜잭션을 열지 않는다.
+ *          그래서 DB 에 쓰지 않는 tasklet 으로만 된 Job 에만 사용한다.
+ * - JobLauncher : RoutingJobLauncher 로 감싸서 Job 이름에 맞는 JobRepository 에 JobExecution 을 만든다.
+ *
+ * in-memory JobRepository 는 JVM 이 끝나면 사라지므로 이 Job 들은 재시작할 수 없고, JobExplorer 로 이력을 조회할 수 없다.
+ * Step 이 @JobScope 가 아닌 singleton 이면 Job 보다 먼저 기본 JobRepository 로 만들어져서 바꾸지 못하고, 실행할 때 H2 에만 있는 JobExecution 의
+ * StepExecution 을 MySQL 에 쓰다가 실패한다. 그래서 명시한 Job 이 만들어질 때 Job Bean 이 의존하는 Step Bean (Flow Bean 을 거친 Step 포함) 이
+ * 모두 @JobScope 인지 확인하고, 아니면 (또는 의존하는 Step Bean 을 찾을 수 없으면) 애플리케이션을 시작하지 않는다.
+ */
+@Slf4j
+public class InMemoryJobRepositoryPostProcessor implements BeanPostProcessor, BeanFactoryAware, DisposableBean {
+
+    private final Set<String> jobNames;
+
+    private ConfigurableBeanFactory beanFactory;
+    private EmbeddedDatabase database;
+    private JobRepository jobRepository;
+    private JobLauncher jobLauncher;
+    private final ResourcelessTransactionManager resourcelessTransactionManager = new ResourcelessTransactionManager();
+
+    public InMemoryJobRepositoryPostProcessor(Set<String> jobNames) {
+        this.jobNames = jobNames;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = (ConfigurableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (jobNames.isEmpty()) {
+            return bean;
+        }
+        if (bean instanceof AbstractJob job && jobNames.contains(job.getName())) {
+            assertJobScopedSteps(job.getName(), beanName);
+            job.setJobRepository(jobRepository());
+        }
+        if (bean instanceof AbstractStep step && isInMemoryJobRunning()) {
+            step.setJobRepository(jobRepository());
+            if (step instanceof TaskletStep taskletStep) {
+                taskletStep.setTransactionManager(resourcelessTransactionManager);
+            }
+        }
+        if (bean instanceof TaskExecutorJobLauncher durableJobLauncher) {
+            return route(durableJobLauncher);
+        }
+        return bean;
+    }
+
+    /**
+     * 기본 JobRepository 로 만든 JobLauncher 를 Job 이름에 따라 in-memory JobLauncher 로도 실행하도록 감싼다.
+     * @return
+     */
+    public JobLauncher route(JobLauncher durableJobLauncher) {
+        if (jobNames.isEmpty()) {
+            return durableJobLauncher;
+        }
+        return new RoutingJobLauncher(durableJobLauncher, jobLauncher(), jobNames);
+    }
+
+    /**
+     * Job Bean 이 의존하는 Step Bean 이 모두 @JobScope (scoped proxy) 인지 확인한다.
+     * Step 을 @Bean 메소드의 파라미터로 받거나 같은 설정 클래스의 @Bean 메소드를 호출해서 얻으면 Job Bean 의 의존 Bean 으로 등록된다.
+     */
+    private void assertJobScopedSteps(String jobName, String jobBeanName) {
+        List<String> steps = new ArrayList<>();
+        List<String> singletonSteps = new ArrayList<>();
+        collectSteps(jobBeanName, new HashSet<>(), steps, singletonSteps);
+        if (steps.isEmpty()) {
+            throw new IllegalStateException(String.format(
+                    "Job '%s' is listed in batch.in-memory-repository.jobs, but none of its steps are bean dependencies of '%s', "
+                            + "so they cannot be switched to the in-memory JobRepository. Inject the @JobScope steps into the job bean method.",
+                    jobName, jobBeanName));
+        }
+        if (!singletonSteps.isEmpty()) {
+            throw new IllegalStateException(String.format(
+                    "Job '%s' is listed in batch.in-memory-repository.jobs, but steps %s are not @JobScope "
+                            + "and would keep writing to the default JobRepository. Make them @JobScope or remove the job from the list.",
+                    jobName, singletonSteps));
+        }
+    }
+
+    private void collectSteps(String beanName, Set<String> visited, List<String> steps, List<String> singletonSteps) {
+        for (String dependency : beanFactory.getDependenciesForBean(beanName)) {
+            if (!visited.add(dependency)) {
+                continue;
+            }
+            Object bean = beanFactory.getBean(dependency);
+            if (bean instanceof Step) {
+                steps.add(dependency);
+                if (!(bean instanceof ScopedObject)) {
+                    singletonSteps.add(dependency);
+                }
+            } else if (bean instanceof Flow) {
+                collectSteps(dependency, visited, steps, singletonSteps);
+            }
+        }
+    }
+
+    private boolean isInMemoryJobRunning() {
+        JobContext jobContext = JobSynchronizationManager.getContext();
+        return jobContext != null && jobNames.contains(jobContext.getJobName());
+    }
+
+    private synchronized JobRepository jobRepository() {
+        if (jobRepository == null) {
+            database = new EmbeddedDatabaseBuilder()
+                    .setType(EmbeddedDatabaseType.H2)
+                    .generateUniqueName(true)
+                    .addScript("org/springframework/batch/core/schema-h2.sql")
+                    .build();
+            try {
+                JobRepositoryFactoryBean factoryBean = new JobRepositoryFactoryBean();
+                factoryBean.setDataSource(database);
+                factoryBean.setTransactionManager(new DataSourceTransactionManager(database));
+                factoryBean.afterPropertiesSet();
+                jobRepository = factoryBean.getObject();
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to create the in-memory JobRepository", e);
+            }
+            log.info("jobs {} use the in-memory JobRepository", jobNames);
+        }
+        return jobRepository;
+    }
+
+    private synchronized JobLauncher jobLauncher() {
+        if (jobLauncher == null) {
+            TaskExecutorJobLauncher taskExecutorJobLauncher = new TaskExecutorJobLauncher();
+            taskExecutorJobLauncher.setJobRepository(jobRepository());
+            try {
+                taskExecutorJobLauncher.afterPropertiesSet();
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to create the in-memory JobLauncher", e);
+            }
+            jobLauncher = taskExecutorJobLauncher;
+        }
+        return jobLauncher;
+    }
+
+    @Override
+    public void destroy() {
+        if (database != null) {
+            database.shutdown();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.springbatchtutorial.core.repository;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRestartException;
+
+import java.util.Set;
+
+/**
+ * Job 이름을 보고 in-memory JobRepository 의 JobLauncher 와 기본(MySQL) JobLauncher 중 하나로 실행한다.
+ * JobExecution 은 Job 이 사용하는 JobRepository 에 만들어져야 하기 때문에 Job 과 JobLauncher 의 JobRepository 가 같아야 한다.
+ */
+public class RoutingJobLauncher implements JobLauncher {
+
+    private final JobLauncher durableJobLauncher;
+    private final JobLauncher inMemoryJobLauncher;
+    private final Set<String> inMemoryJobNames;
+
+    public RoutingJobLauncher(JobLauncher durableJobLauncher, JobLauncher inMemoryJobLauncher, Set<String> inMemoryJobNames) {
+        this.durableJobLauncher = durableJobLauncher;
+        this.inMemoryJobLauncher = inMemoryJobLauncher;
+        this.inMemoryJobNames = inMemoryJobNames;
+    }
+
+    @Override
+    public JobExecution run(Job job, JobParameters jobParameters) throws JobExecutionAlreadyRunningException,
+            JobRestartException, JobInstanceAlreadyCompleteException, JobParametersInvalidException {
+        if (inMemoryJobNames.contains(job.getName())) {
+            return inMemoryJobLauncher.run(job, jobParameters);
+        }
+        return durableJobLauncher.run(job, jobParameters);
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.springbatchtutorial.core.scheduler;
+
+import com.example.springbatchtutorial.core.scheduler.BatchSchedulerProperties.ScheduledJob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * batch.scheduler.jobs 에 정의된 cron 마다 Job 을 실행하는 스케쥴러.
+ *
+ * 1. cron 시간이 되면 OverlapPolicy 에 따라 실행 요청을 큐에 넣거나 건너뛴다. (스케쥴 쓰레드는 Job 을 직접 실행하지 않으므로 막히지 않는다)
+ * 2. 큐의 요청은 Job 별 max-concurrent 와 전체 max-concurrent-jobs 를 넘지 않을 때만 launch 쓰레드에서 실행된다.
+ *    제한에 걸린 Job 의 요청은 큐에 남고, 그 뒤의 다른 Job 요청은 먼저 실행될 수 있다.
+ * 3. 실행이 끝나면 큐를 다시 확인해서 대기 중인 요청을 실행한다.
+ *
+ * 지표 (태그 job)
+ * - spring.batch.scheduler.launch.lag : 스케쥴 시간부터 실제로 실행을 시작하기까지 걸린 시간
+ * - spring.batch.scheduler.trigger : cron 이 발생한 횟수 (태그 outcome = queued | skipped | coalesced)
+ * - spring.batch.scheduler.launch : 실행 결과 (태그 outcome = 실행이 끝난 BatchStatus | failed)
+ * - spring.batch.scheduler.queue.size : 실행을 기다리는 요청 수
+ */
+@Slf4j
+public class BatchJobScheduler implements InitializingBean, DisposableBean {
+
+    private final BatchSchedulerProperties properties;
+    private final BeanFactory beanFactory;
+    private final JobLauncher jobLauncher;
+    private final MeterRegistry meterRegistry;
+    private final ZoneId zoneId = ZoneId.systemDefault();
+
+    private final ThreadPoolTaskScheduler triggerScheduler = new ThreadPoolTaskScheduler();
+    private final ThreadPoolTaskExecutor launchExecutor = new ThreadPoolTaskExecutor();
+
+    // 아래의 상태는 모두 this 로 동기화한다.
+    private final Deque<PendingLaunch> launchQueue = new ArrayDeque<>();
+    private final Map<String, JobState> jobStates = new HashMap<>();
+    private int runningJobs;
+
+    public BatchJobScheduler(BatchSchedulerProperties properties, BeanFactory beanFactory,
+                             JobLauncher jobLauncher, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.beanFactory = beanFactory;
+        this.jobLauncher = jobLauncher;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        triggerScheduler.setPoolSize(1);
+        triggerScheduler.setThreadNamePrefix("batch-scheduler-");
+        triggerScheduler.initialize();
+
+        launchExecutor.setCorePoolSize(properties.maxConcurrentJobs());
+        launchExecutor.setMaxPoolSize(properties.maxConcurrentJobs());
+        launchExecutor.setThreadNamePrefix("batch-launch-");
+        launchExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        launchExecutor.initialize();
+
+        Gauge.builder("spring.batch.scheduler.queue.size", this, BatchJobScheduler::queueSize).register(meterRegistry);
+
+        for (ScheduledJob job : properties.jobs()) {
+            CronExpression cronExpression = CronExpression.parse(job.cron());
+            synchronized (this) {
+                jobStates.put(job.jobName(), new JobState());
+            }
+            scheduleNext(job, cronExpression, Instant.now());
+            log.info("scheduled {} [cron={}, policy={}, maxConcurrent={}]", job.jobName(), job.cron(), job.policy(), job.maxConcurrent());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        triggerScheduler.shutdown();
+        launchExecutor.shutdown();
+    }
+
+    private void scheduleNext(ScheduledJob job, CronExpression cronExpression, Instant after) {
+        ZonedDateTime next = cronExpression.next(ZonedDateTime.ofInstant(after, zoneId));
+        if (next == null) {
+            return;
+        }
+        Instant scheduledTime = next.toInstant();
+        triggerScheduler.schedule(() -> {
+            trigger(job, scheduledTime);
+            scheduleNext(job, cronExpression, scheduledTime);
+        }, scheduledTime);
+    }
+
+    /**
+     * cron 시간이 되었을 때 OverlapPolicy 에 따라 실행 요청을 큐에 넣는다.
+     */
+    synchronized void trigger(ScheduledJob job, Instant scheduledTime) {
+        JobState state = jobStates.get(job.jobName());
+        if (job.policy() == OverlapPolicy.SKIP && state.running + state.queued >= job.maxConcurrent()) {
+            countTrigger(job, "skipped");
+            log.info("{} is still running, skipped the run scheduled at {}", job.jobName(), scheduledTime);
+            return;
+        }
+        if (job.policy() == OverlapPolicy.COALESCE && state.queued > 0) {
+            countTrigger(job, "coalesced");
+            return;
+        }
+        state.queued++;
+        launchQueue.add(new PendingLaunch(job, scheduledTime));
+        countTrigger(job, "queued");
+        dispatch();
+    }
+
+    /**
+     * 큐의 앞에서부터 동시 실행 제한에 걸리지 않는 요청을 launch 쓰레드로 넘긴다.
+     */
+    private synchronized void dispatch() {
+        Iterator<PendingLaunch> iterator = launchQueue.iterator();
+        while (iterator.hasNext() && runningJobs < properties.maxConcurrentJobs()) {
+            PendingLaunch pendingLaunch = iterator.next();
+            JobState state = jobStates.get(pendingLaunch.job().jobName());
+            if (state.running >= pendingLaunch.job().maxConcurrent()) {
+                continue;
+            }
+            iterator.remove();
+            state.queued--;
+            state.running++;
+            runningJobs++;
+            launchExecutor.execute(() -> launch(pendingLaunch));
+        }
+    }
+
+    private void launch(PendingLaunch pendingLaunch) {
+        ScheduledJob scheduledJob = pendingLaunch.job();
+        Timer.builder("spring.batch.scheduler.launch.lag")
+                .tag("job", scheduledJob.jobName())
+                .register(meterRegistry)
+                .record(Duration.between(pendingLaunch.scheduledTime(), Instant.now()));
+        String outcome = "failed";
+        try {
+            Job job = beanFactory.getBean(scheduledJob.jobName(), Job.class);
+            JobExecution jobExecution = jobLauncher.run(job, jobParameters(pendingLaunch));
+            outcome = jobExecution.getStatus().name();
+        } catch (Exception e) {
+            log.error("failed to launch {} scheduled at {}", scheduledJob.jobName(), pendingLaunch.scheduledTime(), e);
+        } finally {
+            Counter.builder("spring.batch.scheduler.launch")
+                    .tag("job", scheduledJob.jobName())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment();
+            synchronized (this) {
+                jobStates.get(scheduledJob.jobName()).running--;
+                runningJobs--;
+            }
+            dispatch();
+        }
+    }
+
+    /**
+     * 선언된 parameters 에 스케쥴 시간 (requestTime) 을 더해서 스케쥴마다 새로운 JobInstance 가 되게 한다.
+     */
+    private static JobParameters jobParameters(PendingLaunch pendingLaunch) {
+        JobParametersBuilder builder = new JobParametersBuilder();
+        pendingLaunch.job().parameters().forEach(builder::addString);
+        builder.addLong("requestTime", pendingLaunch.scheduledTime().toEpochMilli());
+        return builder.toJobParameters();
+    }
+
+    private void countTrigger(ScheduledJob job, String outcome) {
+        Counter.builder("spring.batch.scheduler.trigger")
+                .tag("job", job.jobName())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private synchronized double queueSize() {
+        return launchQueue.size();
+    }
+
+    private record PendingLaunch(ScheduledJob job, Instant scheduledTime) {
+    }
+
+    private static class JobState {
+        private int running;
+        private int queued;
+    }
+}
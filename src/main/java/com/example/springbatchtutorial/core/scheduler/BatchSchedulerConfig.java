@@ -0,0 +1,35 @@
+package com.example.springbatchtutorial.core.scheduler;
+
+import com.example.springbatchtutorial.core.repository.InMemoryJobRepositoryPostProcessor;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * batch.scheduler.enabled=true 이면 batch.scheduler.jobs 에 정의된 스케쥴대로 Job 을 실행한다.
+ *
+ * 스케쥴러는 자기 launch 쓰레드에서 Job 이 끝날 때까지 기다려야 동시 실행 수를 셀 수 있으므로,
+ * batch.virtual-threads.enabled 와 상관없이 동기 방식의 JobLauncher 를 따로 만들어 사용한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "batch.scheduler", name = "enabled", havingValue = "true")
+public class BatchSchedulerConfig {
+
+    @Bean
+    public BatchJobScheduler batchJobScheduler(BatchSchedulerProperties batchSchedulerProperties,
+                                               BeanFactory beanFactory,
+                                               JobRepository jobRepository,
+                                               InMemoryJobRepositoryPostProcessor inMemoryJobRepositoryPostProcessor) throws Exception {
+        TaskExecutorJobLauncher jobLauncher = new TaskExecutorJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.afterPropertiesSet();
+        // batch.in-memory-repository.jobs 에 명시한 Job 은 in-memory JobRepository 로 실행한다.
+        return new BatchJobScheduler(batchSchedulerProperties, beanFactory,
+                inMemoryJobRepositoryPostProcessor.route(jobLauncher), Metrics.globalRegistry);
+    }
+
+}
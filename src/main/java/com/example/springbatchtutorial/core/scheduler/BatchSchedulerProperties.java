@@ -0,0 +1,28 @@
+package com.example.springbatchtutorial.core.scheduler;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 선언적으로 정의하는 Job 스케쥴.
+ *
+ * batch.scheduler.enabled : true 면 BatchJobScheduler 가 아래의 스케쥴대로 Job 을 실행한다.
+ * batch.scheduler.max-concurrent-jobs : 모든 Job 을 합쳐서 동시에 실행되는 Job 수
+ * batch.scheduler.jobs[] : job-name (Job Bean 이름), cron, policy, max-concurrent (Job 별 동시 실행 수), parameters (String JobParameter)
+ */
+@ConfigurationProperties(prefix = "batch.scheduler")
+public record BatchSchedulerProperties(
+        @DefaultValue("4") int maxConcurrentJobs,
+        @DefaultValue List<ScheduledJob> jobs) {
+
+    public record ScheduledJob(
+            String jobName,
+            String cron,
+            @DefaultValue("skip") OverlapPolicy policy,
+            @DefaultValue("1") int maxConcurrent,
+            @DefaultValue Map<String, String> parameters) {
+    }
+}
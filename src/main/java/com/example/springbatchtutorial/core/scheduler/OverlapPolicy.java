@@ -0,0 +1,13 @@
+package com.example.springbatchtutorial.core.scheduler;
+
+/**
+ * 스케쥴 시간이 되었는데 같은 Job 이 아직 실행 중(또는 실행 대기 중) 일 때 어떻게 할지.
+ * batch.scheduler.jobs[].policy=skip|queue|coalesce (없으면 skip)
+ */
+public enum OverlapPolicy {
+
+    SKIP,       // 실행 중이거나 대기 중인 실행이 max-concurrent 개 이상이면 이번 스케쥴은 건너뛴다.
+    QUEUE,      // 모든 스케쥴을 큐에 넣고, 앞의 실행이 끝나면 순서대로 실행한다.
+    COALESCE    // 이미 대기 중인 실행이 있으면 이번 스케쥴을 그 실행에 합친다. (밀린 스케쥴이 여러 번 쌓여도 한 번만 실행된다)
+
+}
@@ -9,6 +9,7 @@ import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
 import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
 import org.springframework.batch.core.repository.JobRestartException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -17,8 +18,14 @@ import java.util.Map;
 
 /**
  * 지금까지는 Job 을 실행할 때, jobParmeter 를 줘서 job 을 실행했지만 스케쥴링을 통하여 Job 을 실행할떄는 JobLauncher 를 주입해주어야 한다.
+ *
+ * 이 방식은 이전 실행이 끝났는지 확인하지 않고 스케쥴 쓰레드에서 바로 Job 을 실행한다.
+ * 겹치는 실행을 막거나 동시 실행 수를 제한하려면 batch.scheduler.jobs 에 스케쥴을 선언한다. (BatchJobScheduler)
+ * batch.scheduler.enabled=true 이면 BatchJobScheduler 가 helloWorldJob 을 실행하므로 이 스케쥴은 등록하지 않는다. (한 번만 실행되도록)
+ * batch.sample-scheduler.enabled=false 이면 등록하지 않는다. (벤치마크처럼 측정 중에 다른 Job 이 실행되면 안 되는 경우)
  */
 @Component @RequiredArgsConstructor
+@ConditionalOnExpression("!${batch.scheduler.enabled:false} and ${batch.sample-scheduler.enabled:true}")
 public class SampleScheduler {
 
     private final JobLauncher jobLauncher;
@@ -16,6 +16,7 @@ import org.springframework.transaction.PlatformTransactionManager;
 
 /**
  * desc: step 결과의 따른 다음 step 분기 처리
+ *       분기된 Step 은 하나만 실행되므로 동시에 실행할 Step 이 없다. 분기 뒤에 여러 Step 을 실행해야 하면 DependencyFlowBuilder 로 만든 Flow 를 .to(flow) 로 연결한다.
  * run param: --job.name=conditionalStepJob
  */
 @Slf4j
@@ -1,52 +1,123 @@
 package com.example.springbatchtutorial.job.DbDataReadWrite;
 
+import com.example.springbatchtutorial.core.cache.ChunkPrefetchListener;
+import com.example.springbatchtutorial.core.cache.ReadThroughCache;
+import com.example.springbatchtutorial.core.chunk.AdaptiveChunkCompletionPolicy;
+import com.example.springbatchtutorial.core.chunk.ChunkProperties;
 import com.example.springbatchtutorial.core.domain.accounts.Accounts;
 import com.example.springbatchtutorial.core.domain.accounts.AccountsRepository;
 import com.example.springbatchtutorial.core.domain.orders.Orders;
 import com.example.springbatchtutorial.core.domain.orders.OrdersRepository;
+import com.example.springbatchtutorial.job.DbDataReadWrite.listener.OrdersHighWaterMark;
+import com.example.springbatchtutorial.job.DbDataReadWrite.listener.ThroughputLoggerListener;
+import com.example.springbatchtutorial.job.DbDataReadWrite.reader.OrdersKeysetItemReader;
+import com.example.springbatchtutorial.job.DbDataReadWrite.reader.OrdersReadMode;
+import com.example.springbatchtutorial.job.DbDataReadWrite.reader.OrdersStatelessItemReader;
+import com.example.springbatchtutorial.job.DbDataReadWrite.tasklet.OrdersToAccountsPushdownTasklet;
+import com.example.springbatchtutorial.job.DbDataReadWrite.processor.DeadLetterItemProcessor;
+import com.example.springbatchtutorial.job.DbDataReadWrite.writer.AccountsDeadLetterWriter;
+import com.example.springbatchtutorial.job.DbDataReadWrite.writer.AccountsWriteMode;
+import com.example.springbatchtutorial.job.DbDataReadWrite.writer.BisectingItemWriter;
+import com.example.springbatchtutorial.job.DbDataReadWrite.writer.PersistenceContextClearingItemWriter;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.springframework.batch.core.ChunkListener;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.JobScope;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.Chunk;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.ItemWriter;
-import org.springframework.batch.item.data.RepositoryItemReader;
 import org.springframework.batch.item.data.RepositoryItemWriter;
 import org.springframework.batch.item.data.builder.RepositoryItemReaderBuilder;
 import org.springframework.batch.item.data.builder.RepositoryItemWriterBuilder;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.JdbcCursorItemReader;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
+import org.springframework.batch.item.validator.ValidationException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.retry.backoff.ExponentialBackOffPolicy;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  *  desc: 주문 테이블에서 정산 테이블로 데이터 이관
  *  run : --job.name=trMigrationJob
+ *  run param: readerMode=paging|keyset|incremental|cursor|stateless, writerMode=jpa|jpa_clear|jdbc|upsert
+ *            증분 이관 : readerMode=incremental writerMode=upsert
+ *            faultTolerant=true : 실패한 주문은 accounts_dead_letter 로 보내고, 일시적인 DB 에러는 재시도 (writerMode=jdbc|upsert)
+ *            pushdown=true rangeSize=10000 : 주문을 읽어오지 않고 INSERT ... SELECT 로 id 범위마다 DB 안에서 이관 (readerMode=incremental, writerMode=upsert 를 함께 쓸 수 있다)
+ *            feeRules=true : order_item_fee 의 상품별 수수료율을 뺀 금액으로 정산 (수수료율은 Step 범위 캐시에서 chunk 마다 한 번에 조회)
  */
 @RequiredArgsConstructor
 @Configuration
 public class TrMigrationConfig {
 
+    private static final int RETRY_LIMIT = 5;
+    private static final String LAST_ID_KEY = "trOrdersReader.lastId";
+    static final int DEFAULT_FETCH_SIZE = 1_000;
+
     private final JobRepository jobRepository;
     private final PlatformTransactionManager platformTransactionManager;
+    private final ChunkProperties chunkProperties;
+    private final DataSource dataSource;
+    private final JobExplorer jobExplorer;
+    private final EntityManagerFactory entityManagerFactory;
 
     private final OrdersRepository ordersRepository;
     private final AccountsRepository accountsRepository;
 
+    /**
+     * 커서 / StatelessSession Reader 의 fetchSize. 기본값은 모든 드라이버가 받는 양수이고,
+     * MySQL 에서 한 row 씩 스트리밍하는 Integer.MIN_VALUE 는 local 프로필 (application.yml) 에서만 지정한다.
+     */
+    @Value("${batch.tr-migration.fetch-size:" + DEFAULT_FETCH_SIZE + "}")
+    private int fetchSize;
+
+    /**
+     * 마지막으로 성공한 실행의 high-water mark 를 찾고, Job 이 성공하면 이번 실행의 값을 batch_high_water_mark 에 남긴다. (readerMode=incremental)
+     * @return
+     */
+    @Bean
+    public OrdersHighWaterMark trOrdersHighWaterMark() {
+        return new OrdersHighWaterMark(new JdbcTemplate(dataSource), jobExplorer, LAST_ID_KEY);
+    }
+
     @Bean
     public Job trMigrationJob(Step trMigrationStep) {
         return new JobBuilder("trMigrationJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
+                .listener(trOrdersHighWaterMark())
                 .start(trMigrationStep)
                 .build();
     }
@@ -59,22 +130,84 @@ public class TrMigrationConfig {
      *
      * .reader() 에는 ItemReader 를 명시해주면 된다.
      * .writer() 에는 ItemWriter 를 명시해주면 된다. (DB 의 내용을 가공해서 Write 하려면 ItemProcessor 가 필요하다.)
+     *
+     * pushdown=true 면 Reader / Processor / Writer 대신 OrdersToAccountsPushdownTasklet 으로 DB 안에서 바로 이관한다.
      * @return
      */
     @Bean
     @JobScope
     public Step trMigrationStep(ItemReader<Orders> trOrdersReader,
                                 ItemProcessor<Orders, Accounts> trOrdersProcessor,
-                                ItemWriter<Accounts> toOrdersWriter) {
-        return new StepBuilder("trMigrationStep", jobRepository)
-                .<Orders, Accounts>chunk(5, platformTransactionManager)
+                                ItemWriter<Accounts> toOrdersWriter,
+                                ReadThroughCache<String, BigDecimal> trOrderItemFeeCache,
+                                @Value("#{jobParameters['faultTolerant']}") String faultTolerant,
+                                @Value("#{jobParameters['feeRules']}") String feeRules,
+                                @Value("#{jobParameters['pushdown']}") String pushdown,
+                                @Value("#{jobParameters['readerMode']}") String readerMode,
+                                @Value("#{jobParameters['writerMode']}") String writerMode,
+                                @Value("#{jobParameters['rangeSize'] ?: 10000}") int rangeSize) {
+        if (Boolean.parseBoolean(pushdown)) {
+            if (Boolean.parseBoolean(faultTolerant)) {
+                throw new IllegalArgumentException("pushdown=true cannot be combined with faultTolerant=true");
+            }
+            if (Boolean.parseBoolean(feeRules)) {
+                throw new IllegalArgumentException("pushdown=true requires a pure column mapping and cannot be combined with feeRules=true");
+            }
+            return trMigrationPushdownStep(OrdersReadMode.from(readerMode), AccountsWriteMode.from(writerMode), rangeSize);
+        }
+        AdaptiveChunkCompletionPolicy completionPolicy = chunkProperties.newCompletionPolicy();
+        SimpleStepBuilder<Orders, Accounts> stepBuilder = new StepBuilder("trMigrationStep", jobRepository)
+                .<Orders, Accounts>chunk(completionPolicy, platformTransactionManager)
                 .reader(trOrdersReader)
 //                .writer(chunk -> chunk.getItems().forEach(System.out::println))       // 이친구는 DB 에 Write 하는 것이 아니기 때문에 ItemProcessor 가 필요하지 않다.
                 .processor(trOrdersProcessor)
-                .writer(toOrdersWriter)
+                .writer(toOrdersWriter);
+        if (Boolean.parseBoolean(faultTolerant)) {
+            stepBuilder = stepBuilder.faultTolerant()
+                    .retry(TransientDataAccessException.class)
+                    .retryLimit(RETRY_LIMIT)
+                    .backOffPolicy(trMigrationBackOffPolicy());
+        }
+        if (Boolean.parseBoolean(feeRules)) {
+            // chunk 에서 읽은 주문의 상품명을 모아두었다가 Processor 의 첫 조회에서 IN (...) 쿼리 하나로 읽는다.
+            stepBuilder = stepBuilder.listener(new ChunkPrefetchListener<>(trOrderItemFeeCache, Orders::getOrderItem));
+        }
+        return stepBuilder
+                .listener(new ThroughputLoggerListener())
+                .listener((ChunkListener) completionPolicy)
+                .listener(trOrdersHighWaterMark())
+                .build();
+    }
+
+    /**
+     * 주문을 id 범위 (rangeSize) 마다 INSERT INTO accounts ... SELECT ... FROM orders 한 문장으로 옮기는 Step. (run param: pushdown=true)
+     * 범위 하나가 하나의 트랜잭션이며, 옮긴 마지막 id 가 ExecutionContext 에 저장되기 때문에 재시작하면 이어서 옮긴다.
+     * @return
+     */
+    private Step trMigrationPushdownStep(OrdersReadMode ordersReadMode, AccountsWriteMode accountsWriteMode, int rangeSize) {
+        int minId = ordersReadMode == OrdersReadMode.INCREMENTAL ? trOrdersHighWaterMark().lastCompleted("trMigrationJob") + 1 : 0;
+        OrdersToAccountsPushdownTasklet tasklet = new OrdersToAccountsPushdownTasklet(new JdbcTemplate(dataSource), LAST_ID_KEY,
+                minId, rangeSize, accountsWriteMode == AccountsWriteMode.UPSERT);
+        return new StepBuilder("trMigrationStep", jobRepository)
+                .tasklet(tasklet, platformTransactionManager)
+                .listener(new ThroughputLoggerListener())
+                .listener(trOrdersHighWaterMark())
                 .build();
     }
 
+    /**
+     * deadlock, lock timeout 같은 일시적인 에러는 chunk 를 롤백하고 100ms, 200ms, 400ms ... (최대 2s) 를 기다렸다가 다시 실행한다. (run param: faultTolerant=true)
+     * 데이터 문제로 실패한 아이템은 retry 하지 않고 BisectingItemWriter 가 찾아서 dead letter 테이블로 보낸다.
+     * @return
+     */
+    private ExponentialBackOffPolicy trMigrationBackOffPolicy() {
+        ExponentialBackOffPolicy backOffPolicy = new ExponentialBackOffPolicy();
+        backOffPolicy.setInitialInterval(100);
+        backOffPolicy.setMultiplier(2.0);
+        backOffPolicy.setMaxInterval(2_000);
+        return backOffPolicy;
+    }
+
     /**
      * DB 에 접근할때는 데이터를 읽어오기위한 ItemReader 를 반환해야한다.
      * RepositoryItemReaderBuilder 로 ItemReader 를 만들고 반환한다. (Orders 객체로 데이터를 읽어온다)
@@ -87,11 +220,26 @@ public class TrMigrationConfig {
      * .sorts() :  는 정렬을 의미하며 Map 에 정렬 타입을 명시하여 정렬을 해줄 수 있다.
      *
      * --> 아래의 ItemReader 는 결과적으로 주문 테이블의 데이터를 읽어올 수 있게 된다.
+     *
+     * 반환 타입을 ItemStreamReader 로 선언해야 @StepScope 프록시가 ItemStream 으로 등록되어 ExecutionContext 에 읽은 위치가 저장된다.
      * @return
      */
     @Bean
     @StepScope
-    public RepositoryItemReader<Orders> trOrdersReader() {
+    public ItemStreamReader<Orders> trOrdersReader(@Value("#{jobParameters['readerMode']}") String readerMode) {
+        OrdersReadMode ordersReadMode = OrdersReadMode.from(readerMode);
+        if (ordersReadMode == OrdersReadMode.KEYSET) {
+            return trOrdersKeysetReader(0);
+        }
+        if (ordersReadMode == OrdersReadMode.INCREMENTAL) {
+            return trOrdersKeysetReader(trOrdersHighWaterMark().lastCompleted("trMigrationJob") + 1);
+        }
+        if (ordersReadMode == OrdersReadMode.CURSOR) {
+            return trOrdersCursorReader();
+        }
+        if (ordersReadMode == OrdersReadMode.STATELESS) {
+            return trOrdersStatelessReader();
+        }
         return new RepositoryItemReaderBuilder<Orders>()
                 .name("trOrdersReader")
                 .repository(ordersRepository)
@@ -102,17 +250,122 @@ public class TrMigrationConfig {
                 .build();
     }
 
+    /**
+     * OFFSET 페이징 대신 keyset(seek) 페이징으로 주문 테이블을 읽는 ItemReader. (run param: readerMode=keyset)
+     * 마지막으로 읽은 id 를 ExecutionContext 에 저장하기 때문에 재시작하면 그 다음 id 부터 읽는다.
+     * readerMode=incremental 이면 이전에 성공한 실행이 이관한 마지막 id 다음부터 읽는다.
+     * @return
+     */
+    private OrdersKeysetItemReader trOrdersKeysetReader(int minId) {
+        OrdersKeysetItemReader reader = new OrdersKeysetItemReader(ordersRepository, 5, minId, Integer.MAX_VALUE);
+        reader.setName("trOrdersReader");
+        return reader;
+    }
+
+    /**
+     * 하나의 커서로 주문 테이블 전체를 스트리밍하는 ItemReader. (run param: readerMode=cursor)
+     *
+     * RepositoryItemReader 는 페이지마다 Orders 를 영속성 컨텍스트에 올리기 때문에 힙을 많이 쓰고 flush 마다 dirty checking 비용이 든다.
+     * JdbcCursorItemReader 는 RowMapper 로 영속성 컨텍스트와 상관없는 Orders 를 만들기 때문에 그런 비용이 없다.
+     *
+     * .fetchSize() : MySQL 은 fetchSize 가 Integer.MIN_VALUE 이면 결과를 한 번에 가져오지 않고 한 row 씩 스트리밍한다. 그래서 테이블 크기와 상관없이 힙 사용량이 일정하다.
+     *                (H2 같은 다른 드라이버는 음수 fetchSize 를 받지 않으므로 MIN_VALUE 는 local 프로필에서만 지정한다.)
+     *                (url 에 useCursorFetch=true 를 주고 양수 fetchSize 를 주면 서버 커서로 fetchSize 만큼씩 가져온다.)
+     * .saveState() : 읽은 row 수를 ExecutionContext 에 저장하고, 재시작하면 그 수만큼 건너뛴 뒤 읽는다.
+     * @return
+     */
+    private JdbcCursorItemReader<Orders> trOrdersCursorReader() {
+        return new JdbcCursorItemReaderBuilder<Orders>()
+                .name("trOrdersReader")
+                .dataSource(dataSource)
+                .sql("SELECT id, order_item, price, order_date FROM orders ORDER BY id")
+                .rowMapper((rs, rowNum) -> new Orders(
+                        rs.getInt("id"),
+                        rs.getString("order_item"),
+                        rs.getObject("price", Integer.class),
+                        rs.getObject("order_date", LocalDateTime.class)))
+                .fetchSize(fetchSize)
+                .saveState(true)
+                .build();
+    }
+
+    /**
+     * Hibernate StatelessSession 으로 읽는 ItemReader. (run param: readerMode=stateless)
+     * 영속성 컨텍스트가 없기 때문에 읽은 Orders 가 1차 캐시에 쌓이지 않고, read-only 쿼리라 스냅샷도 만들지 않는다.
+     * @return
+     */
+    private OrdersStatelessItemReader trOrdersStatelessReader() {
+        OrdersStatelessItemReader reader = new OrdersStatelessItemReader(entityManagerFactory.unwrap(SessionFactory.class), fetchSize);
+        reader.setName("trOrdersReader");
+        return reader;
+    }
+
     /**
      * ItemProcessor 는 ItemWriter 에게 전달되는 데이터를 가공하는 역할을 한다.
      *
      * 리턴값으로는 ItemWriter 에게 전달되는 데이터타입의 값을 리턴해주면 된다.
+     *
+     * feeRules=true 면 상품별 수수료율을 trOrderItemFeeCache 에서 찾아 수수료를 뺀 금액으로 정산한다.
+     * 같은 상품이 반복되기 때문에 주문마다 DB 를 조회하지 않고 캐시에서 꺼낸다.
+     *
+     * faultTolerant=true 면 가격이 없는 주문은 정산하지 않고, Processor 에서 실패한 주문은 chunk 를 롤백하지 않고 dead letter 테이블로 보낸다.
      * @return
      */
     @Bean
     @StepScope
-    public ItemProcessor<Orders, Accounts> trOrdersProcessor() {
-        // ItmeProcessor 익명 클래스 Override
-        return Accounts::new;
+    public ItemProcessor<Orders, Accounts> trOrdersProcessor(@Value("#{jobParameters['feeRules']}") String feeRules,
+                                                             @Value("#{jobParameters['faultTolerant']}") String faultTolerant,
+                                                             @Value("#{stepExecution.jobExecutionId}") Long jobExecutionId,
+                                                             ReadThroughCache<String, BigDecimal> trOrderItemFeeCache) {
+        ItemProcessor<Orders, Accounts> processor;
+        if (Boolean.parseBoolean(feeRules)) {
+            processor = orders -> new Accounts(orders.getId(), orders.getOrderItem(),
+                    settledPrice(orders.getPrice(), trOrderItemFeeCache.get(orders.getOrderItem())),
+                    orders.getOrderDate(), LocalDateTime.now());
+        } else {
+            // ItmeProcessor 익명 클래스 Override
+            processor = Accounts::new;
+        }
+        if (!Boolean.parseBoolean(faultTolerant)) {
+            return processor;
+        }
+        ItemProcessor<Orders, Accounts> delegate = processor;
+        AccountsDeadLetterWriter deadLetterWriter = new AccountsDeadLetterWriter(new JdbcTemplate(dataSource), jobExecutionId);
+        return new DeadLetterItemProcessor<>(orders -> {
+            if (orders.getPrice() == null) {
+                throw new ValidationException("price is null");
+            }
+            return delegate.process(orders);
+        }, deadLetterWriter::orders);
+    }
+
+    /**
+     * 상품별 수수료율 (order_item_fee) 캐시. 최대 batch.tr-migration.fee-cache-size 개의 상품을 담는다.
+     * @return
+     */
+    @Bean
+    @StepScope
+    public ReadThroughCache<String, BigDecimal> trOrderItemFeeCache(@Value("${batch.tr-migration.fee-cache-size:10000}") long maximumSize) {
+        NamedParameterJdbcTemplate namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        return new ReadThroughCache<>("trOrderItemFee", maximumSize, orderItems -> {
+            Map<String, BigDecimal> feeRates = new HashMap<>();
+            namedParameterJdbcTemplate.query("SELECT order_item, fee_rate FROM order_item_fee WHERE order_item IN (:orderItems)",
+                    new MapSqlParameterSource("orderItems", orderItems),
+                    rs -> {
+                        feeRates.put(rs.getString("order_item"), rs.getBigDecimal("fee_rate"));
+                    });
+            return feeRates;
+        }, Metrics.globalRegistry);
+    }
+
+    /**
+     * 수수료율이 없는 상품은 수수료 없이 정산한다. 수수료는 원 단위로 반올림한다.
+     */
+    private static Integer settledPrice(Integer price, BigDecimal feeRate) {
+        if (price == null || feeRate == null) {
+            return price;
+        }
+        return price - BigDecimal.valueOf(price).multiply(feeRate).setScale(0, RoundingMode.HALF_UP).intValue();
     }
 
     /**
@@ -124,11 +377,81 @@ public class TrMigrationConfig {
      */
     @Bean
     @StepScope
-    public RepositoryItemWriter<Accounts> toOrdersWriter() {
-        return new RepositoryItemWriterBuilder<Accounts>()
+    public ItemWriter<Accounts> toOrdersWriter(@Value("#{jobParameters['writerMode']}") String writerMode,
+                                               @Value("#{jobParameters['faultTolerant']}") String faultTolerant,
+                                               @Value("#{stepExecution.jobExecutionId}") Long jobExecutionId) {
+        AccountsWriteMode accountsWriteMode = AccountsWriteMode.from(writerMode);
+        ItemWriter<Accounts> accountsWriter = accountsWriter(accountsWriteMode);
+        if (!Boolean.parseBoolean(faultTolerant)) {
+            return accountsWriter;
+        }
+        if (accountsWriteMode != AccountsWriteMode.JDBC && accountsWriteMode != AccountsWriteMode.UPSERT) {
+            throw new IllegalArgumentException("faultTolerant=true requires writerMode=jdbc or writerMode=upsert");
+        }
+        // chunk 쓰기가 실패하면 savepoint 안에서 반씩 나눠 다시 쓰면서 실패한 주문만 dead letter 테이블로 보낸다.
+        return new BisectingItemWriter<>(accountsWriter, dataSource,
+                new AccountsDeadLetterWriter(new JdbcTemplate(dataSource), jobExecutionId));
+    }
+
+    private ItemWriter<Accounts> accountsWriter(AccountsWriteMode accountsWriteMode) {
+        if (accountsWriteMode == AccountsWriteMode.JDBC) {
+            return toOrdersJdbcWriter();
+        }
+        if (accountsWriteMode == AccountsWriteMode.UPSERT) {
+            return toOrdersUpsertWriter();
+        }
+        RepositoryItemWriter<Accounts> repositoryItemWriter = new RepositoryItemWriterBuilder<Accounts>()
                 .repository(accountsRepository)
                 .methodName("save")
                 .build();
+        if (accountsWriteMode == AccountsWriteMode.JPA_CLEAR) {
+            // chunk 를 쓸 때마다 flush + clear 해서 merge 된 Accounts 가 커밋까지 영속성 컨텍스트에 남지 않게 한다.
+            return new PersistenceContextClearingItemWriter<>(repositoryItemWriter,
+                    SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+        }
+        return repositoryItemWriter;
+    }
+
+    /**
+     * JPA 를 거치지 않고 정산 테이블에 바로 INSERT 하는 ItemWriter. (run param: writerMode=jdbc)
+     *
+     * Accounts 는 Orders 의 id 를 그대로 복사하기 때문에 AccountsRepository.save 는 매번 merge 가 되어 INSERT 전에 SELECT 가 한 번 더 나가고,
+     * IDENTITY 전략에서는 Hibernate 의 JDBC batch 도 동작하지 않는다.
+     * JdbcBatchItemWriter 는 chunk 의 아이템을 addBatch 로 모아 executeBatch 한 번으로 보낸다.
+     * (MySQL 은 url 에 rewriteBatchedStatements=true 가 있어야 INSERT ... VALUES (...),(...) 한 문장으로 다시 써서 보낸다.)
+     * @return
+     */
+    private JdbcBatchItemWriter<Accounts> toOrdersJdbcWriter() {
+        return new JdbcBatchItemWriterBuilder<Accounts>()
+                .dataSource(dataSource)
+                .sql("INSERT INTO accounts (id, order_item, price, order_date, account_date) VALUES (?, ?, ?, ?, ?)")
+                .itemPreparedStatementSetter(TrMigrationConfig::setAccountsValues)
+                .build();
+    }
+
+    /**
+     * 이미 정산된 주문이 다시 들어와도 중복 에러 없이 갱신하는 ItemWriter. (run param: writerMode=upsert)
+     * 같은 주문을 여러 번 이관해도 결과가 같기 때문에 (멱등) 재시작이나 high-water mark 이전 주문이 섞여도 안전하다.
+     * 갱신된 row 는 update count 가 2, 값이 같으면 0 이므로 update count 검사는 하지 않는다.
+     * @return
+     */
+    private JdbcBatchItemWriter<Accounts> toOrdersUpsertWriter() {
+        return new JdbcBatchItemWriterBuilder<Accounts>()
+                .dataSource(dataSource)
+                .sql("INSERT INTO accounts (id, order_item, price, order_date, account_date) VALUES (?, ?, ?, ?, ?) "
+                        + "ON DUPLICATE KEY UPDATE order_item = VALUES(order_item), price = VALUES(price), "
+                        + "order_date = VALUES(order_date), account_date = VALUES(account_date)")
+                .itemPreparedStatementSetter(TrMigrationConfig::setAccountsValues)
+                .assertUpdates(false)
+                .build();
+    }
+
+    private static void setAccountsValues(Accounts accounts, PreparedStatement ps) throws SQLException {
+        ps.setObject(1, accounts.getId());
+        ps.setString(2, accounts.getOrderItem());
+        ps.setObject(3, accounts.getPrice());
+        ps.setObject(4, accounts.getOrderDate());
+        ps.setObject(5, accounts.getAccountDate());
     }
 
     ///////////////////////////////////// 추가적인 로직 /////////////////////////////////////
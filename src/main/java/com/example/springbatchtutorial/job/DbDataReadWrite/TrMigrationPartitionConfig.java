@@ -0,0 +1,131 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite;
+
+import com.example.springbatchtutorial.core.concurrent.VirtualThreadTaskExecutor;
+import com.example.springbatchtutorial.core.domain.accounts.Accounts;
+import com.example.springbatchtutorial.core.domain.orders.Orders;
+import com.example.springbatchtutorial.core.domain.orders.OrdersRepository;
+import com.example.springbatchtutorial.job.DbDataReadWrite.listener.ThroughputLoggerListener;
+import com.example.springbatchtutorial.job.DbDataReadWrite.partition.OrdersIdRangePartitioner;
+import com.example.springbatchtutorial.job.DbDataReadWrite.reader.OrdersKeysetItemReader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ *  desc: 주문 테이블을 id 범위로 파티셔닝해서 정산 테이블로 병렬 이관
+ *  run : --job.name=trMigrationPartitionJob
+ *  run param: gridSize=4 chunkSize=100 (writerMode 등 trMigrationJob 의 파라미터도 그대로 사용할 수 있다.)
+ */
+@RequiredArgsConstructor
+@Configuration
+public class TrMigrationPartitionConfig {
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager platformTransactionManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final OrdersRepository ordersRepository;
+
+    @Bean
+    public Job trMigrationPartitionJob(Step trMigrationPartitionStep) {
+        return new JobBuilder("trMigrationPartitionJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .start(trMigrationPartitionStep)
+                .build();
+    }
+
+    /**
+     * manager step. Partitioner 로 id 범위를 나누고, 범위마다 worker step 을 TaskExecutor 위에서 동시에 실행한다.
+     *
+     * .partitioner() : worker step 의 이름과 Partitioner 를 명시한다. 파티션마다 "workerStep이름:파티션이름" 의 StepExecution 이 만들어진다.
+     * .gridSize() : 몇 개의 파티션으로 나눌지 명시한다.
+     * .taskExecutor() : 파티션을 실행할 TaskExecutor 를 명시한다. 명시하지 않으면 하나의 쓰레드에서 순서대로 실행된다.
+     * @return
+     */
+    @Bean
+    @JobScope
+    public Step trMigrationPartitionStep(Step trMigrationWorkerStep,
+                                         TaskExecutor trMigrationTaskExecutor,
+                                         @Value("#{jobParameters['gridSize'] ?: 4}") int gridSize) {
+        return new StepBuilder("trMigrationPartitionStep", jobRepository)
+                .partitioner("trMigrationWorkerStep", new OrdersIdRangePartitioner(jdbcTemplate))
+                .step(trMigrationWorkerStep)
+                .gridSize(gridSize)
+                .taskExecutor(trMigrationTaskExecutor)
+                .build();
+    }
+
+    /**
+     * worker step. 파티션 하나의 id 범위를 읽어서 정산 테이블에 쓴다.
+     * Processor 와 Writer 는 trMigrationStep 과 같은 Bean 을 사용하며 @StepScope 이기 때문에 파티션마다 따로 만들어진다.
+     * @return
+     */
+    @Bean
+    @JobScope
+    public Step trMigrationWorkerStep(ItemReader<Orders> trOrdersPartitionReader,
+                                      ItemProcessor<Orders, Accounts> trOrdersProcessor,
+                                      ItemWriter<Accounts> toOrdersWriter,
+                                      @Value("#{jobParameters['chunkSize'] ?: 5}") int chunkSize) {
+        return new StepBuilder("trMigrationWorkerStep", jobRepository)
+                .<Orders, Accounts>chunk(chunkSize, platformTransactionManager)
+                .reader(trOrdersPartitionReader)
+                .processor(trOrdersProcessor)
+                .writer(toOrdersWriter)
+                .listener(new ThroughputLoggerListener())
+                .build();
+    }
+
+    /**
+     * 파티션의 ExecutionContext 에 들어있는 minId ~ maxId 범위만 keyset 방식으로 읽는다.
+     * 마지막으로 읽은 id 가 파티션의 StepExecution 에 저장되기 때문에 파티션별로 이어서 재시작할 수 있다.
+     * @return
+     */
+    @Bean
+    @StepScope
+    public OrdersKeysetItemReader trOrdersPartitionReader(@Value("#{stepExecutionContext['minId']}") int minId,
+                                                          @Value("#{stepExecutionContext['maxId']}") int maxId,
+                                                          @Value("#{jobParameters['chunkSize'] ?: 5}") int chunkSize) {
+        OrdersKeysetItemReader reader = new OrdersKeysetItemReader(ordersRepository, chunkSize, minId, maxId);
+        reader.setName("trOrdersPartitionReader");
+        return reader;
+    }
+
+    /**
+     * 파티션을 실행할 쓰레드풀. 쓰레드마다 DB 커넥션을 하나씩 사용하므로 커넥션 풀 크기보다 크게 잡지 않는다.
+     * batch.virtual-threads.enabled=true 이면 쓰레드풀 대신 커넥션 풀 크기만큼만 동시에 실행되는 가상 쓰레드를 사용한다.
+     * @return
+     */
+    @Bean
+    public TaskExecutor trMigrationTaskExecutor(@Value("${batch.tr-migration.pool-size:4}") int poolSize,
+                                                ObjectProvider<VirtualThreadTaskExecutor> batchStepVirtualThreadTaskExecutor) {
+        VirtualThreadTaskExecutor virtualThreadTaskExecutor = batchStepVirtualThreadTaskExecutor.getIfAvailable();
+        if (virtualThreadTaskExecutor != null) {
+            return virtualThreadTaskExecutor;
+        }
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor.setThreadNamePrefix("tr-migration-");
+        taskExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        taskExecutor.initialize();
+        return taskExecutor;
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite;
+
+import com.example.springbatchtutorial.core.chunk.AdaptiveChunkCompletionPolicy;
+import com.example.springbatchtutorial.core.chunk.ChunkProperties;
+import com.example.springbatchtutorial.core.domain.accounts.Accounts;
+import com.example.springbatchtutorial.core.domain.orders.Orders;
+import com.example.springbatchtutorial.job.DbDataReadWrite.listener.ThroughputLoggerListener;
+import com.example.springbatchtutorial.job.DbDataReadWrite.reader.ReadAheadItemReader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.integration.async.AsyncItemProcessor;
+import org.springframework.batch.integration.async.AsyncItemWriter;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.Future;
+
+/**
+ *  desc: 읽기 / 가공 / 쓰기를 겹쳐서 실행하는 주문 -> 정산 이관
+ *  run : --job.name=trMigrationPipelineJob
+ *  run param: readAhead=100 (미리 읽어둘 최대 아이템 수), readerMode / writerMode 는 trMigrationJob 과 같다.
+ */
+@RequiredArgsConstructor
+@Configuration
+public class TrMigrationPipelineConfig {
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager platformTransactionManager;
+    private final ChunkProperties chunkProperties;
+
+    @Bean
+    public Job trMigrationPipelineJob(Step trMigrationPipelineStep) {
+        return new JobBuilder("trMigrationPipelineJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .start(trMigrationPipelineStep)
+                .build();
+    }
+
+    /**
+     * 1. Reader 는 별도의 쓰레드에서 다음 페이지를 미리 읽어 큐에 쌓아둔다. (chunk 를 커밋하는 동안에도 읽는다)
+     * 2. AsyncItemProcessor 는 아이템마다 가공을 TaskExecutor 에 넘기고 Future 를 반환한다.
+     * 3. AsyncItemWriter 는 chunk 의 Future 들이 끝나기를 기다렸다가 결과를 원래의 Writer 에게 넘긴다. (쓰기는 chunk 트랜잭션 안에서 실행된다)
+     *
+     * 그래서 chunk 의 제네릭은 <Orders, Future<Accounts>> 가 된다.
+     * @return
+     */
+    @Bean
+    @JobScope
+    public Step trMigrationPipelineStep(ItemStreamReader<Orders> trOrdersReadAheadReader,
+                                        ItemProcessor<Orders, Future<Accounts>> trOrdersAsyncProcessor,
+                                        ItemWriter<Future<Accounts>> toOrdersAsyncWriter) {
+        AdaptiveChunkCompletionPolicy completionPolicy = chunkProperties.newCompletionPolicy();
+        return new StepBuilder("trMigrationPipelineStep", jobRepository)
+                .<Orders, Future<Accounts>>chunk(completionPolicy, platformTransactionManager)
+                .reader(trOrdersReadAheadReader)
+                .processor(trOrdersAsyncProcessor)
+                .writer(toOrdersAsyncWriter)
+                .listener(new ThroughputLoggerListener())
+                .listener((ChunkListener) completionPolicy)
+                .build();
+    }
+
+    /**
+     * trMigrationJob 의 Reader 를 감싸서 최대 readAhead 개까지 미리 읽는다.
+     * @return
+     */
+    @Bean
+    @StepScope
+    public ReadAheadItemReader<Orders> trOrdersReadAheadReader(ItemStreamReader<Orders> trOrdersReader,
+                                                               @Value("#{jobParameters['readAhead'] ?: 100}") int readAhead) {
+        return new ReadAheadItemReader<>(trOrdersReader, readAhead, new SimpleAsyncTaskExecutor("tr-read-ahead-"));
+    }
+
+    @Bean
+    @StepScope
+    public AsyncItemProcessor<Orders, Accounts> trOrdersAsyncProcessor(ItemProcessor<Orders, Accounts> trOrdersProcessor,
+                                                                       TaskExecutor trMigrationPipelineTaskExecutor) {
+        AsyncItemProcessor<Orders, Accounts> asyncItemProcessor = new AsyncItemProcessor<>();
+        asyncItemProcessor.setDelegate(trOrdersProcessor);
+        asyncItemProcessor.setTaskExecutor(trMigrationPipelineTaskExecutor);
+        return asyncItemProcessor;
+    }
+
+    @Bean
+    @StepScope
+    public AsyncItemWriter<Accounts> toOrdersAsyncWriter(ItemWriter<Accounts> toOrdersWriter) {
+        AsyncItemWriter<Accounts> asyncItemWriter = new AsyncItemWriter<>();
+        asyncItemWriter.setDelegate(toOrdersWriter);
+        return asyncItemWriter;
+    }
+
+    /**
+     * 가공을 실행할 쓰레드풀. 한 번에 chunk 크기만큼의 Future 만 만들어지기 때문에 큐가 무한히 커지지 않는다.
+     * @return
+     */
+    @Bean
+    public TaskExecutor trMigrationPipelineTaskExecutor(@Value("${batch.tr-migration.pool-size:4}") int poolSize) {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor.setThreadNamePrefix("tr-pipeline-");
+        taskExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        taskExecutor.initialize();
+        return taskExecutor;
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite;
+
+import com.example.springbatchtutorial.job.DbDataReadWrite.partition.OrdersIdRangePartitioner;
+import jakarta.jms.ConnectionFactory;
+import lombok.RequiredArgsConstructor;
+import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.core.remoting.impl.netty.NettyAcceptorFactory;
+import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.integration.partition.RemotePartitioningManagerStepBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jms.artemis.ArtemisConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.integration.jms.dsl.Jms;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+/**
+ *  desc: 주문 테이블을 id 범위로 파티셔닝해서 여러 JVM 의 worker 에게 나눠주는 원격 파티셔닝 (manager)
+ *  run : --spring.profiles.active=local,remote-manager --job.name=trMigrationRemotePartitionJob
+ *  run param: gridSize=4 chunkSize=100 (writerMode 등 trMigrationJob 의 파라미터도 그대로 사용할 수 있다.)
+ *            chunkSize 는 worker 가 파티션마다 Job 파라미터에서 읽어 commit 단위와 Reader 의 page 크기로 사용한다. (없으면 commit 단위는 worker 의 batch.chunk.size)
+ *
+ *  worker 는 다른 JVM 에서 --spring.profiles.active=local,remote-worker 로 원하는 수만큼 띄운다. (TrMigrationRemoteWorkerConfig)
+ *  manager 가 embedded Artemis 브로커를 띄우고 batch.remote-partition.broker-port 로 연결을 받는다.
+ *  이미 운영 중인 브로커가 있으면 manager 도 spring.artemis.mode=native 로 그 브로커를 바라보면 된다.
+ */
+@Profile("remote-manager")
+@RequiredArgsConstructor
+@Configuration
+public class TrMigrationRemoteManagerConfig {
+
+    public static final String REQUESTS_QUEUE = "trMigration.requests";
+
+    private final JobRepository jobRepository;
+    private final JobExplorer jobExplorer;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Bean
+    public Job trMigrationRemotePartitionJob(Step trMigrationRemotePartitionStep) {
+        return new JobBuilder("trMigrationRemotePartitionJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .start(trMigrationRemotePartitionStep)
+                .build();
+    }
+
+    /**
+     * 원격 manager step. 파티션마다 StepExecutionRequest 메세지를 만들어 outputChannel 로 보낸다.
+     *
+     * .partitioner() : worker JVM 에 있는 worker step 의 이름과 Partitioner 를 명시한다.
+     * .outputChannel() : 파티션 요청을 보낼 채널. 채널 뒤의 IntegrationFlow 가 JMS 큐로 보낸다.
+     * .jobExplorer() : worker 의 응답 메세지를 받는 대신 공유 JobRepository 를 pollInterval 마다 조회해서 파티션이 모두 끝났는지 확인한다.
+     *                 (inputChannel 을 명시하지 않으면 polling 방식이 된다.)
+     * .timeout() : 이 시간이 지나도 끝나지 않은 파티션이 있으면 Step 이 실패한다.
+     * @return
+     */
+    @Bean
+    @JobScope
+    public Step trMigrationRemotePartitionStep(@Value("#{jobParameters['gridSize'] ?: 4}") int gridSize,
+                                               @Value("${batch.remote-partition.poll-interval:1000}") long pollInterval,
+                                               @Value("${batch.remote-partition.timeout:3600000}") long timeout) {
+        return new RemotePartitioningManagerStepBuilder("trMigrationRemotePartitionStep", jobRepository)
+                .partitioner("trMigrationRemoteWorkerStep", new OrdersIdRangePartitioner(jdbcTemplate))
+                .gridSize(gridSize)
+                .outputChannel(trMigrationRequests())
+                .jobExplorer(jobExplorer)
+                .pollInterval(pollInterval)
+                .timeout(timeout)
+                .build();
+    }
+
+    @Bean
+    public DirectChannel trMigrationRequests() {
+        return new DirectChannel();
+    }
+
+    /**
+     * trMigrationRequests 채널의 파티션 요청을 JMS 큐로 보낸다.
+     * 채널 뒤의 어댑터만 바꾸면 (Jms -> Amqp, Kafka ...) 다른 메세징 미들웨어를 사용할 수 있다.
+     * @return
+     */
+    @Bean
+    public IntegrationFlow trMigrationRequestsFlow(ConnectionFactory connectionFactory) {
+        return IntegrationFlow.from(trMigrationRequests())
+                .handle(Jms.outboundAdapter(connectionFactory).destination(REQUESTS_QUEUE))
+                .get();
+    }
+
+    /**
+     * embedded 브로커는 기본적으로 in-vm 연결만 받기 때문에 다른 JVM 의 worker 가 접속할 수 있도록 TCP acceptor 를 추가한다.
+     * @return
+     */
+    @Bean
+    public ArtemisConfigurationCustomizer trMigrationBrokerAcceptor(@Value("${batch.remote-partition.broker-port:61616}") int brokerPort) {
+        return configuration -> configuration.addAcceptorConfiguration(new TransportConfiguration(
+                NettyAcceptorFactory.class.getName(),
+                Map.of(TransportConstants.HOST_PROP_NAME, "0.0.0.0", TransportConstants.PORT_PROP_NAME, brokerPort),
+                "remote-partition"));
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite;
+
+import com.example.springbatchtutorial.core.chunk.ChunkProperties;
+import com.example.springbatchtutorial.core.domain.accounts.Accounts;
+import com.example.springbatchtutorial.core.domain.orders.Orders;
+import com.example.springbatchtutorial.job.DbDataReadWrite.listener.ThroughputLoggerListener;
+import jakarta.jms.ConnectionFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.integration.partition.RemotePartitioningWorkerStepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.batch.repeat.policy.SimpleCompletionPolicy;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.integration.jms.dsl.Jms;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ *  desc: 원격 파티셔닝의 worker. manager 가 보낸 파티션을 받아서 worker step 을 실행한다.
+ *  run : --spring.profiles.active=local,remote-worker (job.name 없이 띄우면 JMS 큐를 구독하며 계속 떠 있는다.)
+ *
+ *  모든 worker 는 manager 와 같은 MySQL 을 JobRepository 로 사용해야 한다. 파티션의 StepExecution 을 JobRepository 에서 찾아 실행하고 결과를 기록하기 때문이다.
+ *  JVM 을 늘리면 파티션이 큐에서 먼저 꺼내 간 worker 에게 나눠지므로 CPU 와 커넥션 풀이 JVM 수만큼 늘어난다.
+ */
+@Profile("remote-worker")
+@RequiredArgsConstructor
+@Configuration
+public class TrMigrationRemoteWorkerConfig {
+
+    private final JobRepository jobRepository;
+    private final JobExplorer jobExplorer;
+    private final PlatformTransactionManager platformTransactionManager;
+    private final ChunkProperties chunkProperties;
+    private final BeanFactory beanFactory;
+
+    @Bean
+    public DirectChannel trMigrationWorkerRequests() {
+        return new DirectChannel();
+    }
+
+    /**
+     * JMS 큐의 파티션 요청을 trMigrationWorkerRequests 채널로 넘긴다.
+     * concurrentConsumers 만큼 하나의 JVM 에서 파티션을 동시에 실행한다. (쓰레드마다 DB 커넥션을 하나씩 사용한다.)
+     * @return
+     */
+    @Bean
+    public IntegrationFlow trMigrationWorkerRequestsFlow(ConnectionFactory connectionFactory,
+                                                         @Value("${batch.remote-partition.worker-concurrency:1}") int concurrency) {
+        return IntegrationFlow.from(Jms.messageDrivenChannelAdapter(connectionFactory)
+                        .destination(TrMigrationRemoteManagerConfig.REQUESTS_QUEUE)
+                        .configureListenerContainer(container -> container.concurrentConsumers(concurrency)))
+                .channel(trMigrationWorkerRequests())
+                .get();
+    }
+
+    /**
+     * 원격 worker step. StepExecutionRequest 를 받으면 이 Step 을 Bean 이름으로 찾아서 실행하기 때문에 Bean 이름이 manager 가 명시한 이름과 같아야 하고,
+     * 요청을 받는 쓰레드에는 Job 의 scope 가 없으므로 @JobScope 가 아닌 singleton 으로 선언한다. (Reader / Processor / Writer 는 @StepScope 라 파티션마다 만들어진다)
+     *
+     * .inputChannel() / .jobExplorer() / .beanFactory() 는 .chunk() 보다 먼저 명시해야 요청을 받는 IntegrationFlow 가 만들어진다.
+     * chunk 크기는 singleton Step 을 만들 때 정해지지 않도록 @StepScope 인 trMigrationRemoteCompletionPolicy 로 파티션마다 정한다.
+     * @return
+     */
+    @Bean
+    public Step trMigrationRemoteWorkerStep(ItemReader<Orders> trOrdersPartitionReader,
+                                            ItemProcessor<Orders, Accounts> trOrdersProcessor,
+                                            ItemWriter<Accounts> toOrdersWriter,
+                                            CompletionPolicy trMigrationRemoteCompletionPolicy) {
+        return new RemotePartitioningWorkerStepBuilder("trMigrationRemoteWorkerStep", jobRepository)
+                .inputChannel(trMigrationWorkerRequests())
+                .jobExplorer(jobExplorer)
+                .beanFactory(beanFactory)
+                .<Orders, Accounts>chunk(trMigrationRemoteCompletionPolicy, platformTransactionManager)
+                .reader(trOrdersPartitionReader)
+                .processor(trOrdersProcessor)
+                .writer(toOrdersWriter)
+                .listener(new ThroughputLoggerListener())
+                .build();
+    }
+
+    /**
+     * manager 의 Job 에 넘긴 chunkSize 파라미터 만큼씩 commit 한다. (TrMigrationPartitionConfig 의 worker step 과 같다)
+     * 파라미터가 없으면 worker 의 batch.chunk.size 를 사용한다.
+     * @return
+     */
+    @Bean
+    @StepScope
+    public CompletionPolicy trMigrationRemoteCompletionPolicy(@Value("#{jobParameters['chunkSize']}") Integer chunkSize) {
+        return new SimpleCompletionPolicy(chunkSize != null ? chunkSize : chunkProperties.size());
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite.listener;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 이관이 끝난 마지막 주문 id (high-water mark) 를 batch_high_water_mark 테이블에 남기고, 다음 실행에서 찾아 쓴다. (DDL : sql_script.sql)
+ *
+ * Step 이 끝나면 keyset Reader 가 저장한 마지막 id 를 Job 의 ExecutionContext 로 옮기고 (StepExecutionListener),
+ * Job 이 COMPLETED 로 끝나면 그 값을 Job 이름의 row 하나에 저장한다. (JobExecutionListener)
+ * 실패한 실행의 값은 저장하지 않으므로, 실패한 실행 이후에 새로 실행하면 마지막으로 성공한 지점부터 다시 이관한다.
+ *
+ * 다음 실행은 PK 로 row 하나만 읽기 때문에 실행 이력이 쌓여도 조회 비용이 같고,
+ * 배치 메타데이터 밖에 있기 때문에 metadataHousekeepingJob 이 오래된 실행을 지워도 값이 남는다.
+ *
+ * 테이블에 값이 없으면 (이 테이블을 쓰기 전에 실행한 이력만 있으면) 최근 FALLBACK_INSTANCES 개의 JobInstance 에서만 찾는다.
+ */
+public class OrdersHighWaterMark implements StepExecutionListener, JobExecutionListener {
+
+    public static final String HIGH_WATER_MARK = "orders.highWaterMark";
+    public static final String TABLE = "batch_high_water_mark";
+    private static final int FALLBACK_INSTANCES = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobExplorer jobExplorer;
+    private final String lastIdKey;
+
+    private volatile boolean tableCreated;
+
+    /**
+     * @param lastIdKey keyset Reader 가 Step 의 ExecutionContext 에 마지막 id 를 저장하는 key (예: trOrdersReader.lastId)
+     */
+    public OrdersHighWaterMark(JdbcTemplate jdbcTemplate, JobExplorer jobExplorer, String lastIdKey) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobExplorer = jobExplorer;
+        this.lastIdKey = lastIdKey;
+    }
+
+    /**
+     * 가장 최근에 COMPLETED 된 실행의 high-water mark. 없으면 0.
+     */
+    public int lastCompleted(String jobName) {
+        createTable();
+        List<Integer> lastIds = jdbcTemplate.queryForList("SELECT last_id FROM " + TABLE + " WHERE job_name = ?", Integer.class, jobName);
+        if (!lastIds.isEmpty()) {
+            return lastIds.get(0);
+        }
+        return lastCompletedInMetadata(jobName);
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        ExecutionContext stepContext = stepExecution.getExecutionContext();
+        if (stepContext.containsKey(lastIdKey)) {
+            stepExecution.getJobExecution().getExecutionContext().putInt(HIGH_WATER_MARK, stepContext.getInt(lastIdKey));
+        }
+        return stepExecution.getExitStatus();
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        ExecutionContext executionContext = jobExecution.getExecutionContext();
+        if (jobExecution.getStatus() == BatchStatus.COMPLETED && executionContext.containsKey(HIGH_WATER_MARK)) {
+            save(jobExecution.getJobInstance().getJobName(), executionContext.getInt(HIGH_WATER_MARK), jobExecution.getId());
+        }
+    }
+
+    private void save(String jobName, int lastId, Long jobExecutionId) {
+        createTable();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int updated = jdbcTemplate.update("UPDATE " + TABLE + " SET last_id = ?, job_execution_id = ?, updated_at = ? WHERE job_name = ?",
+                lastId, jobExecutionId, now, jobName);
+        if (updated == 0) {
+            jdbcTemplate.update("INSERT INTO " + TABLE + " (job_name, last_id, job_execution_id, updated_at) VALUES (?, ?, ?, ?)",
+                    jobName, lastId, jobExecutionId, now);
+        }
+    }
+
+    /**
+     * 테이블이 생기기 전의 실행 이력에서 찾는다. 최근 FALLBACK_INSTANCES 개의 JobInstance 만 보기 때문에 이력 크기와 상관없이 조회 수가 정해져 있다.
+     */
+    private int lastCompletedInMetadata(String jobName) {
+        for (JobInstance jobInstance : jobExplorer.getJobInstances(jobName, 0, FALLBACK_INSTANCES)) {     // 최근 순
+            for (JobExecution jobExecution : jobExplorer.getJobExecutions(jobInstance)) {
+                ExecutionContext executionContext = jobExecution.getExecutionContext();
+                if (jobExecution.getStatus() == BatchStatus.COMPLETED && executionContext.containsKey(HIGH_WATER_MARK)) {
+                    return executionContext.getInt(HIGH_WATER_MARK);
+                }
+            }
+        }
+        return 0;
+    }
+
+    private void createTable() {
+        if (!tableCreated) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+                    + "job_name VARCHAR(100) NOT NULL, "
+                    + "last_id INT NOT NULL, "
+                    + "job_execution_id BIGINT NULL, "
+                    + "updated_at TIMESTAMP NOT NULL, "
+                    + "PRIMARY KEY (job_name))");
+            tableCreated = true;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite.listener;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Step 이 끝나면 쓰기 건수와 걸린 시간으로 rows/sec 를 로그로 남긴다.
+ * 같은 데이터로 writerMode 만 바꿔 실행하면 Writer 별 처리량을 비교할 수 있다.
+ */
+@Slf4j
+public class ThroughputLoggerListener implements StepExecutionListener {
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        LocalDateTime startTime = stepExecution.getStartTime();
+        if (startTime == null) {
+            return stepExecution.getExitStatus();
+        }
+        long writeCount = stepExecution.getWriteCount();
+        long millis = Math.max(1, Duration.between(startTime, LocalDateTime.now()).toMillis());
+
+        log.info("{} wrote {} rows in {} ms ({} rows/sec)",
+                stepExecution.getStepName(),
+                writeCount,
+                millis,
+                writeCount * 1000 / millis);
+        return stepExecution.getExitStatus();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite.partition;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 주문 테이블의 MIN(id) ~ MAX(id) 를 gridSize 개의 id 범위로 나누는 Partitioner.
+ * 각 파티션의 ExecutionContext 에는 minId, maxId 가 들어가고, worker step 의 Reader 가 이 범위만 읽는다.
+ *
+ * 파티션마다 별도의 StepExecution (trMigrationWorkerStep:partition0 ...) 이 만들어지기 때문에 실패한 파티션만 따로 재시작된다.
+ */
+public class OrdersIdRangePartitioner implements Partitioner {
+
+    public static final String MIN_ID = "minId";
+    public static final String MAX_ID = "maxId";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrdersIdRangePartitioner(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        int[] range = jdbcTemplate.queryForObject(
+                "SELECT MIN(id), MAX(id) FROM orders",
+                (rs, rowNum) -> new int[]{rs.getInt(1), rs.getInt(2)});     // 테이블이 비어있으면 0, 0
+
+        int min = range[0];
+        int max = range[1];
+        long targetSize = ((long) max - min) / Math.max(1, gridSize) + 1;
+
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        int number = 0;
+        for (long start = min; start <= max; start += targetSize) {
+            ExecutionContext context = new ExecutionContext();
+            context.putInt(MIN_ID, (int) start);
+            context.putInt(MAX_ID, (int) Math.min(max, start + targetSize - 1));
+            partitions.put("partition" + number++, context);
+        }
+        return partitions;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite.processor;
+
+import com.example.springbatchtutorial.job.DbDataReadWrite.writer.BisectingItemWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.dao.DataAccessException;
+
+import java.util.function.BiConsumer;
+
+/**
+ * delegate Processor 가 아이템 때문에 실패하면 그 아이템을 deadLetter 로 넘기고 걸러내는(null) ItemProcessor.
+ *
+ * Spring Batch 의 processor skip 은 chunk 를 롤백하고 다시 처리하지만, 이 Processor 는 실패한 아이템만 빼고 chunk 를 그대로 이어간다.
+ * DB 문제 (TransientDataAccessException, 커넥션 문제 ...) 는 아이템 때문이 아니므로 그대로 던진다. (BisectingItemWriter.isDataError 와 같은 기준)
+ */
+@Slf4j
+public class DeadLetterItemProcessor<I, O> implements ItemProcessor<I, O> {
+
+    private final ItemProcessor<I, O> delegate;
+    private final BiConsumer<I, Exception> deadLetter;
+
+    public DeadLetterItemProcessor(ItemProcessor<I, O> delegate, BiConsumer<I, Exception> deadLetter) {
+        this.delegate = delegate;
+        this.deadLetter = deadLetter;
+    }
+
+    @Override
+    public O process(I item) throws Exception {
+        try {
+            return delegate.process(item);
+        } catch (Exception e) {
+            if (e instanceof DataAccessException && !BisectingItemWriter.isDataError(e)) {
+                throw e;
+            }
+            log.warn("dead-lettered {} : {}", item, e.getMessage());
+            deadLetter.accept(item, e);
+            return null;
+        }
+    }
+}
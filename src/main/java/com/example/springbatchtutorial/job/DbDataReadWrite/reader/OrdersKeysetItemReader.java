@@ -0,0 +1,91 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite.reader;
+
+import com.example.springbatchtutorial.core.domain.orders.Orders;
+import com.example.springbatchtutorial.core.domain.orders.OrdersRepository;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.util.ExecutionContextUserSupport;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * keyset(seek) 방식으로 주문 테이블을 읽는 ItemReader.
+ *
+ * RepositoryItemReader 는 findAll(Pageable) 로 LIMIT ? OFFSET ? 쿼리를 날리기 때문에 뒤쪽 페이지로 갈수록 DB 가 건너뛰어야 하는 row 가 많아진다.
+ * 이 Reader 는 마지막으로 읽은 id 를 기억해두고 WHERE id > :lastId ORDER BY id LIMIT :pageSize 로 다음 페이지를 읽기 때문에
+ * 몇 번째 페이지이든 PK 인덱스를 타고 pageSize 만큼만 읽는다.
+ *
+ * 마지막으로 읽은 id 는 StepExecution 의 ExecutionContext 에 저장되므로, 재시작하면 마지막으로 커밋된 chunk 의 다음 id 부터 읽는다.
+ * minId, maxId 를 주면 그 범위 안의 주문만 읽는다. (파티션 하나가 읽을 id 범위)
+ */
+public class OrdersKeysetItemReader implements ItemStreamReader<Orders> {
+
+    private static final String LAST_ID = "lastId";
+
+    private final ExecutionContextUserSupport executionContextUserSupport = new ExecutionContextUserSupport();
+    private final OrdersRepository ordersRepository;
+    private final int pageSize;
+    private final int minId;
+    private final int maxId;
+
+    private int lastId;
+    private Iterator<Orders> page = Collections.emptyIterator();
+    private boolean lastPage;
+
+    public OrdersKeysetItemReader(OrdersRepository ordersRepository, int pageSize) {
+        this(ordersRepository, pageSize, 0, Integer.MAX_VALUE);
+    }
+
+    public OrdersKeysetItemReader(OrdersRepository ordersRepository, int pageSize, int minId, int maxId) {
+        Assert.notNull(ordersRepository, "OrdersRepository must not be null");
+        Assert.isTrue(pageSize > 0, "pageSize must be greater than zero");
+        this.ordersRepository = ordersRepository;
+        this.pageSize = pageSize;
+        this.minId = minId;
+        this.maxId = maxId;
+        executionContextUserSupport.setName("ordersKeysetItemReader");
+    }
+
+    /**
+     * ExecutionContext 에 저장하는 key 의 prefix
+     */
+    public void setName(String name) {
+        executionContextUserSupport.setName(name);
+    }
+
+    @Override
+    public Orders read() {
+        if (!page.hasNext()) {
+            if (lastPage) {
+                return null;
+            }
+            List<Orders> orders = ordersRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(lastId, maxId, PageRequest.of(0, pageSize));
+            lastPage = orders.size() < pageSize;
+            page = orders.iterator();
+            if (!page.hasNext()) {
+                return null;
+            }
+        }
+        Orders orders = page.next();
+        lastId = orders.getId();
+        return orders;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        lastId = executionContext.getInt(executionContextUserSupport.getKey(LAST_ID), minId - 1);
+        page = Collections.emptyIterator();
+        lastPage = false;
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        executionContext.putInt(executionContextUserSupport.getKey(LAST_ID), lastId);
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite.reader;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * trMigrationJob 의 Orders 읽기 방식.
+ * run param: readerMode=paging|keyset|incremental|cursor|stateless (없으면 paging)
+ */
+public enum OrdersReadMode {
+
+    PAGING,     // RepositoryItemReader + findAll(Pageable) --> LIMIT ? OFFSET ?
+    KEYSET,     // OrdersKeysetItemReader --> WHERE id > ? ORDER BY id LIMIT ?
+    INCREMENTAL,    // KEYSET 과 같지만 마지막으로 성공한 실행의 high-water mark 다음 id 부터 읽는다.
+    CURSOR,         // JdbcCursorItemReader --> 하나의 커서로 orders 전체를 스트리밍
+    STATELESS;      // OrdersStatelessItemReader --> Hibernate StatelessSession, 영속성 컨텍스트 없이 읽기
+
+    public static OrdersReadMode from(String value) {
+        if (!StringUtils.hasText(value)) {
+            return PAGING;
+        }
+        return OrdersReadMode.valueOf(value.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite.reader;
+
+import com.example.springbatchtutorial.core.domain.orders.Orders;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.util.Assert;
+
+/**
+ * Hibernate StatelessSession 으로 주문 테이블을 읽는 ItemReader.
+ *
+ * StatelessSession 은 영속성 컨텍스트(1차 캐시) 가 없기 때문에 읽은 Orders 가 어디에도 붙잡혀 있지 않고, 스냅샷도 만들지 않아 dirty checking 비용도 없다.
+ * 쿼리는 read-only 로 실행하고, 결과는 FORWARD_ONLY 커서로 fetchSize 만큼씩 가져온다. (MySQL 은 Integer.MIN_VALUE 이면 한 row 씩 스트리밍)
+ *
+ * 읽은 row 수를 ExecutionContext 에 저장하고, 재시작하면 그 수만큼 건너뛴 뒤 읽는다.
+ */
+public class OrdersStatelessItemReader extends AbstractItemCountingItemStreamItemReader<Orders> {
+
+    private final SessionFactory sessionFactory;
+    private final int fetchSize;
+
+    private StatelessSession statelessSession;
+    private ScrollableResults<Orders> results;
+
+    public OrdersStatelessItemReader(SessionFactory sessionFactory, int fetchSize) {
+        Assert.notNull(sessionFactory, "SessionFactory must not be null");
+        this.sessionFactory = sessionFactory;
+        this.fetchSize = fetchSize;
+        setName("ordersStatelessItemReader");
+    }
+
+    @Override
+    protected void doOpen() {
+        statelessSession = sessionFactory.openStatelessSession();
+        results = statelessSession.createQuery("select o from Orders o order by o.id", Orders.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    @Override
+    protected Orders doRead() {
+        return results.next() ? results.get() : null;
+    }
+
+    @Override
+    protected void doClose() {
+        if (results != null) {
+            results.close();
+            results = null;
+        }
+        if (statelessSession != null) {
+            statelessSession.close();
+            statelessSession = null;
+        }
+    }
+}
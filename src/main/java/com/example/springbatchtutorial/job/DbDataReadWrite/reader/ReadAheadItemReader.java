@@ -0,0 +1,145 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite.reader;
+
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.util.Assert;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 별도의 쓰레드에서 delegate Reader 를 미리 읽어 크기가 정해진 큐에 쌓아두는 ItemReader.
+ *
+ * chunk 를 쓰고 커밋하는 동안에도 다음 페이지를 DB 에서 읽어올 수 있다.
+ * 큐가 가득 차면 읽는 쓰레드가 기다리기 때문에 (backpressure) 메모리에는 최대 capacity 개의 아이템만 올라간다.
+ *
+ * delegate 는 커밋되지 않은 아이템까지 미리 읽기 때문에, 아이템을 읽을 때마다 delegate 의 상태를 함께 큐에 넣어두고
+ * update() 에서는 Step 이 실제로 가져간 마지막 아이템 시점의 상태를 저장한다. 그래서 재시작하면 커밋된 위치부터 다시 읽는다.
+ *
+ * delegate 가 @StepScope 프록시여도 동작하도록 읽는 쓰레드에도 현재 StepExecution 을 등록한다.
+ *
+ * close() 는 읽는 쓰레드가 delegate.read() 를 마치고 끝날 때까지 기다린 다음에 delegate 를 닫는다. (사용 중인 커넥션 / 커서를 닫지 않도록)
+ */
+public class ReadAheadItemReader<T> implements ItemStreamReader<T> {
+
+    private static final Object END = new Object();
+
+    private final ItemStreamReader<T> delegate;
+    private final TaskExecutor taskExecutor;
+    private final BlockingQueue<Object[]> queue;
+
+    private volatile boolean running;
+    private CountDownLatch producerFinished = new CountDownLatch(0);
+    private StepExecution stepExecution;
+    private boolean exhausted;
+    private ExecutionContext lastState;
+
+    public ReadAheadItemReader(ItemStreamReader<T> delegate, int capacity, TaskExecutor taskExecutor) {
+        Assert.notNull(delegate, "delegate must not be null");
+        Assert.isTrue(capacity > 0, "capacity must be greater than zero");
+        Assert.notNull(taskExecutor, "taskExecutor must not be null");
+        this.delegate = delegate;
+        this.taskExecutor = taskExecutor;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        delegate.open(executionContext);
+        lastState = null;
+        exhausted = false;
+        queue.clear();
+        StepContext stepContext = StepSynchronizationManager.getContext();
+        stepExecution = stepContext != null ? stepContext.getStepExecution() : null;
+        running = true;
+        CountDownLatch finished = new CountDownLatch(1);
+        producerFinished = finished;
+        try {
+            taskExecutor.execute(() -> produce(finished));
+        } catch (RuntimeException e) {
+            finished.countDown();
+            throw e;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T read() throws Exception {
+        if (exhausted) {
+            return null;
+        }
+        Object[] next = queue.take();
+        if (next[0] == END) {
+            exhausted = true;
+            if (next[1] instanceof Exception e) {
+                throw e;
+            }
+            return null;
+        }
+        lastState = (ExecutionContext) next[1];
+        return (T) next[0];
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (lastState != null) {
+            for (Map.Entry<String, Object> entry : lastState.entrySet()) {
+                executionContext.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        running = false;
+        queue.clear();      // 큐가 가득 차서 기다리고 있는 쓰레드를 깨운다.
+        try {
+            producerFinished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ItemStreamException("Interrupted while waiting for the read-ahead thread to finish", e);
+        }
+        queue.clear();
+        delegate.close();
+    }
+
+    private void produce(CountDownLatch finished) {
+        if (stepExecution != null) {
+            StepSynchronizationManager.register(stepExecution);
+        }
+        try {
+            T item;
+            while (running && (item = delegate.read()) != null) {
+                ExecutionContext state = new ExecutionContext();
+                delegate.update(state);
+                offer(new Object[]{item, state});
+            }
+            offer(new Object[]{END, null});
+        } catch (Exception e) {
+            offer(new Object[]{END, e});
+        } finally {
+            if (stepExecution != null) {
+                StepSynchronizationManager.release();
+            }
+            finished.countDown();
+        }
+    }
+
+    private void offer(Object[] element) {
+        try {
+            while (running && !queue.offer(element, 100, TimeUnit.MILLISECONDS)) {
+                // Step 이 아이템을 가져갈 때까지 기다린다.
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite.tasklet;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 주문을 JVM 으로 읽어오지 않고 DB 안에서 INSERT INTO accounts ... SELECT ... FROM orders 로 바로 이관하는 Tasklet. (run param: pushdown=true)
+ *
+ * trOrdersProcessor 는 Orders 의 컬럼을 그대로 Accounts 로 옮기고 accountDate 만 지금 시각으로 채우는 단순한 매핑이기 때문에 SQL 한 문장으로 바꿀 수 있다.
+ * 그래서 row 마다 네트워크로 주고받거나 엔티티를 만드는 비용이 없다. (Processor 에 매핑 외의 로직이 생기면 이 방식은 사용할 수 없다)
+ *
+ * execute() 한 번이 id 범위 하나 (rangeSize) 를 옮기고 CONTINUABLE 을 반환하기 때문에 TaskletStep 이 범위마다 트랜잭션을 나눠서 커밋한다.
+ * 옮긴 마지막 id 는 같은 트랜잭션에서 Step 의 ExecutionContext 에 저장되므로, 재시작하면 그 다음 id 부터 이어서 옮긴다.
+ * (keyset Reader 와 같은 key 를 쓰기 때문에 OrdersHighWaterMark 도 그대로 동작한다)
+ *
+ * write count 는 범위 안의 주문 수로 센다. MySQL 의 ON DUPLICATE KEY UPDATE 는 갱신된 row 를 affected rows 2 로, 값이 같은 row 를 0 으로 돌려주기 때문에
+ * writerMode=upsert 에서 update count 를 그대로 쓰면 옮긴 주문 수와 맞지 않는다.
+ */
+@Slf4j
+public class OrdersToAccountsPushdownTasklet implements Tasklet {
+
+    private static final String INSERT_SQL = "INSERT INTO accounts (id, order_item, price, order_date, account_date) "
+            + "SELECT id, order_item, price, order_date, ? FROM orders WHERE id BETWEEN ? AND ?";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM orders WHERE id BETWEEN ? AND ?";
+    private static final String UPSERT_SQL = INSERT_SQL
+            + " ON DUPLICATE KEY UPDATE order_item = VALUES(order_item), price = VALUES(price), "
+            + "order_date = VALUES(order_date), account_date = VALUES(account_date)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String lastIdKey;
+    private final int minId;
+    private final int rangeSize;
+    private final String sql;
+
+    private Integer maxId;
+
+    /**
+     * @param lastIdKey 옮긴 마지막 id 를 Step 의 ExecutionContext 에 저장하는 key
+     * @param minId     이 id 부터 옮긴다. (readerMode=incremental 이면 high-water mark + 1)
+     * @param upsert    true 면 이미 있는 정산은 갱신한다. (writerMode=upsert)
+     */
+    public OrdersToAccountsPushdownTasklet(JdbcTemplate jdbcTemplate, String lastIdKey, int minId, int rangeSize, boolean upsert) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lastIdKey = lastIdKey;
+        this.minId = minId;
+        this.rangeSize = rangeSize;
+        this.sql = upsert ? UPSERT_SQL : INSERT_SQL;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        ExecutionContext executionContext = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        if (maxId == null) {
+            // Step 을 시작할 때의 마지막 주문까지만 옮긴다. 그 뒤에 들어온 주문은 다음 실행에서 옮긴다.
+            maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM orders", Integer.class);
+        }
+        int lastId = executionContext.containsKey(lastIdKey) ? executionContext.getInt(lastIdKey) : minId - 1;
+
+        // id 가 비어있는 구간은 건너뛰도록 다음 범위는 실제로 있는 다음 id 부터 시작한다. (PK 인덱스 seek 한 번)
+        Integer from = maxId == null ? null
+                : jdbcTemplate.queryForObject("SELECT MIN(id) FROM orders WHERE id > ? AND id <= ?", Integer.class, lastId, maxId);
+        if (from == null) {
+            log.info("pushdown migrated {} orders up to id {}", chunkContext.getStepContext().getStepExecution().getWriteCount(), lastId);
+            return RepeatStatus.FINISHED;
+        }
+        int to = (int) Math.min(maxId, (long) from + rangeSize - 1);
+
+        Integer migrated = jdbcTemplate.queryForObject(COUNT_SQL, Integer.class, from, to);
+        jdbcTemplate.update(sql, Timestamp.valueOf(LocalDateTime.now()), from, to);
+        contribution.incrementWriteCount(migrated);
+        executionContext.putInt(lastIdKey, to);
+        return RepeatStatus.CONTINUABLE;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite.writer;
+
+import com.example.springbatchtutorial.core.columnar.ColumnarSchema;
+import com.example.springbatchtutorial.core.domain.accounts.Accounts;
+
+/**
+ * Accounts 를 컬럼 파일로 쓸 때의 컬럼 정의. (ColumnarItemWriter)
+ * orderItem 은 상품 종류만큼만 값이 있으므로 사전 인코딩하고, 일시는 epoch micro 로 저장한다.
+ * 아직 Accounts 를 파일로 내보내는 Job 은 없으므로 어떤 Step 에도 연결되어 있지 않다. (컬럼 파일 출력은 fileReadWriteJob 의 outputMode=columnar 만 있다)
+ */
+public final class AccountsColumns {
+
+    private AccountsColumns() {
+    }
+
+    public static ColumnarSchema<Accounts> schema() {
+        return ColumnarSchema.<Accounts>builder()
+                .nullableIntColumn("id", Accounts::getId)
+                .dictionaryColumn("orderItem", Accounts::getOrderItem)
+                .nullableIntColumn("price", Accounts::getPrice)
+                .timestampColumn("orderDate", Accounts::getOrderDate)
+                .timestampColumn("accountDate", Accounts::getAccountDate)
+                .build();
+    }
+}
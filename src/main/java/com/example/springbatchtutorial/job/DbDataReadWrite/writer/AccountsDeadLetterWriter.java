@@ -0,0 +1,51 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite.writer;
+
+import com.example.springbatchtutorial.core.domain.accounts.Accounts;
+import com.example.springbatchtutorial.core.domain.orders.Orders;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.function.BiConsumer;
+
+/**
+ * 정산 테이블에 쓰지 못한 주문을 accounts_dead_letter 테이블에 남긴다. (DDL : sql_script.sql)
+ * Writer 에서 실패한 Accounts 뿐 아니라 Processor 에서 실패한 Orders 도 orders(...) 로 남긴다.
+ * chunk 트랜잭션 안에서 쓰기 때문에 chunk 가 커밋될 때 같이 커밋된다.
+ */
+public class AccountsDeadLetterWriter implements BiConsumer<Accounts, Exception> {
+
+    private static final int MAX_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Long jobExecutionId;
+
+    public AccountsDeadLetterWriter(JdbcTemplate jdbcTemplate, Long jobExecutionId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobExecutionId = jobExecutionId;
+    }
+
+    @Override
+    public void accept(Accounts accounts, Exception exception) {
+        insert(accounts.getId(), accounts, exception);
+    }
+
+    /**
+     * Processor 에서 실패한 주문
+     */
+    public void orders(Orders orders, Exception exception) {
+        insert(orders.getId(), orders, exception);
+    }
+
+    private void insert(Integer orderId, Object item, Exception exception) {
+        jdbcTemplate.update("INSERT INTO accounts_dead_letter (order_id, item, error, job_execution_id, failed_at) VALUES (?, ?, ?, ?, ?)",
+                orderId,
+                truncate(item.toString()),
+                truncate(String.valueOf(exception.getMessage())),
+                jobExecutionId,
+                LocalDateTime.now());
+    }
+
+    private static String truncate(String value) {
+        return value.length() <= MAX_LENGTH ? value : value.substring(0, MAX_LENGTH);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite.writer;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * trMigrationJob 의 Accounts 쓰기 방식.
+ * run param: writerMode=jpa|jpa_clear|jdbc|upsert (없으면 jpa)
+ */
+public enum AccountsWriteMode {
+
+    JPA,        // RepositoryItemWriter + AccountsRepository.save --> 건마다 merge (SELECT + INSERT)
+    JPA_CLEAR,  // JPA 와 같지만 chunk 를 쓸 때마다 flush + clear 해서 영속성 컨텍스트가 커지지 않는다.
+    JDBC,       // JdbcBatchItemWriter --> chunk 단위 addBatch / executeBatch
+    UPSERT;     // JDBC 와 같지만 INSERT ... ON DUPLICATE KEY UPDATE 로 이미 있는 정산은 갱신한다.
+
+    public static AccountsWriteMode from(String value) {
+        if (!StringUtils.hasText(value)) {
+            return JPA;
+        }
+        return AccountsWriteMode.valueOf(value.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite.writer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * chunk 쓰기가 실패하면 chunk 를 반으로 나눠 다시 써보면서 실패한 아이템(poison) 만 찾아내는 ItemWriter.
+ *
+ * Spring Batch 의 skip 은 쓰기가 실패하면 chunk 를 롤백하고 아이템을 하나씩 별도의 트랜잭션으로 다시 쓰기 때문에 chunk 크기만큼 트랜잭션이 생긴다.
+ * 이 Writer 는 chunk 트랜잭션의 JDBC 커넥션에 savepoint 를 걸고 나눠 쓰기 때문에
+ * poison 아이템이 k 개면 약 k * log2(chunk 크기) 번의 savepoint 만으로 나머지 아이템을 쓰고, poison 아이템은 deadLetter 로 넘긴다.
+ *
+ * - 데이터 문제 (DataIntegrityViolationException, 그 밖의 NonTransientDataAccessException) 일 때만 나눈다.
+ * - TransientDataAccessException (deadlock, lock timeout ...) 은 그대로 던진다. (Step 의 retry 가 chunk 를 다시 실행한다)
+ * - 커넥션이 끊기는 등의 NonTransientDataAccessResourceException (DataAccessResourceFailureException ...) 이나 DB 와 상관없는 예외도 그대로 던진다.
+ *   잘못된 SQL (InvalidDataAccessResourceUsageException) 도 마찬가지다. 나눠서 다시 써도 모두 실패하기 때문에 나누면 chunk 전체가 dead letter 로 가버린다.
+ * - savepoint 롤백은 JDBC 상태만 되돌리므로 delegate 는 JDBC 로 바로 쓰는 Writer 여야 한다. (JPA 영속성 컨텍스트는 되돌리지 못한다)
+ */
+@Slf4j
+public class BisectingItemWriter<T> implements ItemWriter<T> {
+
+    private final ItemWriter<T> delegate;
+    private final DataSource dataSource;
+    private final BiConsumer<T, Exception> deadLetter;
+
+    /**
+     * @param dataSource chunk 트랜잭션이 사용하는 DataSource. (JpaTransactionManager 도 같은 커넥션을 DataSource 에 묶어두기 때문에 그 커넥션에 savepoint 를 건다)
+     */
+    public BisectingItemWriter(ItemWriter<T> delegate, DataSource dataSource, BiConsumer<T, Exception> deadLetter) {
+        this.delegate = delegate;
+        this.dataSource = dataSource;
+        this.deadLetter = deadLetter;
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        write(List.copyOf(chunk.getItems()));
+    }
+
+    private void write(List<? extends T> items) throws Exception {
+        try {
+            writeInSavepoint(items);
+        } catch (Exception e) {
+            if (!isDataError(e)) {
+                throw e;
+            }
+            if (items.size() == 1) {
+                log.warn("dead-lettered {} : {}", items.get(0), e.getMessage());
+                deadLetter.accept(items.get(0), e);
+                return;
+            }
+            int middle = items.size() / 2;
+            write(items.subList(0, middle));
+            write(items.subList(middle, items.size()));
+        }
+    }
+
+    /**
+     * 아이템의 값 때문에 실패했는지 (다른 아이템은 쓸 수 있는지)
+     */
+    public static boolean isDataError(Throwable e) {
+        if (e instanceof DataIntegrityViolationException) {
+            return true;
+        }
+        return e instanceof NonTransientDataAccessException
+                && !(e instanceof NonTransientDataAccessResourceException)
+                && !(e instanceof InvalidDataAccessResourceUsageException)      // 잘못된 SQL 은 모든 아이템이 실패한다.
+                && !(e instanceof InvalidDataAccessApiUsageException);
+    }
+
+    private void writeInSavepoint(List<? extends T> items) throws Exception {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                delegate.write(new Chunk<>(items));
+            } catch (Exception e) {
+                connection.rollback(savepoint);
+                throw e;
+            }
+            connection.releaseSavepoint(savepoint);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite.writer;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+/**
+ * delegate 로 chunk 를 쓴 다음 영속성 컨텍스트를 flush 하고 비우는 ItemWriter.
+ *
+ * chunk 트랜잭션 안에서 merge 된 엔티티는 커밋될 때까지 EntityManager 에 붙어 있고, flush 할 때마다 dirty checking 대상이 된다.
+ * 쓰기가 끝나자마자 flush + clear 하면 chunk 크기가 커져도 1차 캐시에 남는 엔티티가 없다.
+ *
+ * entityManager 는 현재 트랜잭션의 EntityManager 를 사용하는 공유 EntityManager 여야 한다.
+ */
+public class PersistenceContextClearingItemWriter<T> implements ItemWriter<T> {
+
+    private final ItemWriter<T> delegate;
+    private final EntityManager entityManager;
+
+    public PersistenceContextClearingItemWriter(ItemWriter<T> delegate, EntityManager entityManager) {
+        this.delegate = delegate;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        delegate.write(chunk);
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
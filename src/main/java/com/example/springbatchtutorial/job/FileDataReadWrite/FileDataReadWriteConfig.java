@@ -1,9 +1,18 @@
 package com.example.springbatchtutorial.job.FileDataReadWrite;
 
+import com.example.springbatchtutorial.core.chunk.AdaptiveChunkCompletionPolicy;
+import com.example.springbatchtutorial.core.chunk.ChunkProperties;
+import com.example.springbatchtutorial.core.columnar.ColumnarItemWriter;
 import com.example.springbatchtutorial.job.FileDataReadWrite.dto.Player;
 import com.example.springbatchtutorial.job.FileDataReadWrite.dto.PlayerYears;
+import com.example.springbatchtutorial.job.FileDataReadWrite.reader.PlayerMappedFileItemReader;
+import com.example.springbatchtutorial.job.FileDataReadWrite.writer.OutputCompression;
+import com.example.springbatchtutorial.job.FileDataReadWrite.writer.PlayerYearsColumns;
+import com.example.springbatchtutorial.job.FileDataReadWrite.writer.PlayerYearsLineAggregator;
+import com.example.springbatchtutorial.job.FileDataReadWrite.writer.RollingCompressedItemWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.JobScope;
@@ -15,23 +24,29 @@ import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.Chunk;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamWriter;
 import org.springframework.batch.item.ItemWriter;
-import org.springframework.batch.item.file.FlatFileItemReader;
-import org.springframework.batch.item.file.FlatFileItemWriter;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
 import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
-import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
-import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
 import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.transform.LineAggregator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.nio.file.Path;
+import java.time.Year;
+
 
 /**
  * https://docs.spring.io/spring-batch/docs/current/reference/html/index-single.html#simpleDelimitedFileReadingExample
  * --job.name=fileReadWriteJob
+ * run param: readerMode=flat|mmap
+ * run param: outputMode=rolling compression=gzip|zstd|none partMaxRecords=1000000 partMaxBytes=268435456 bufferSize=1048576
+ * run param: outputMode=columnar rowGroupSize=65536
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -40,6 +55,7 @@ public class FileDataReadWriteConfig {
 
     private final JobRepository jobRepository;
     private final PlatformTransactionManager platformTransactionManager;
+    private final ChunkProperties chunkProperties;
 
     @Bean
     public Job fileReadWriteJob(Step fileReadWriteStep) {
@@ -62,12 +78,14 @@ public class FileDataReadWriteConfig {
     public Step fileReadWriteStep(ItemReader<Player> playerFlatFileItemReader,
                                   ItemProcessor<Player, PlayerYears> playerItemProcessor,
                                   ItemWriter<PlayerYears> playerFlatFileItemWriter) {
+        AdaptiveChunkCompletionPolicy completionPolicy = chunkProperties.newCompletionPolicy();
         return new StepBuilder("fileReadWriteStep", jobRepository)
-                .<Player, PlayerYears>chunk(5, platformTransactionManager)
+                .<Player, PlayerYears>chunk(completionPolicy, platformTransactionManager)
                 .reader(playerFlatFileItemReader)
 //                .writer(chunk -> chunk.getItems().forEach(System.out::println))
                 .processor(playerItemProcessor)
                 .writer(playerFlatFileItemWriter)
+                .listener((ChunkListener) completionPolicy)
                 .build();
     }
 
@@ -79,11 +97,18 @@ public class FileDataReadWriteConfig {
      * .lineTokenizer() : 데이터를 어떤 기준으로 나누어 줄지 기준을 정하기 위해서 사용.
      * .fieldSetMapper() : 읽어온 데이터를 객체로 변경할 수 있도록 mapper 가 필요함. 이 mapper 는 만들어주어야하고, 이것을 매핑하면 됨.
      * .linesToSkip() : n 번쨰 줄은 스킵을 하겠다고 명시할 수 있음.
+     *
+     * readerMode=mmap 이면 FlatFileItemReader 대신 파일을 메모리에 매핑해서 byte 에서 바로 Player 를 만드는 PlayerMappedFileItemReader 를 사용한다.
      * @return
      */
     @Bean
     @StepScope
-    public FlatFileItemReader<Player> playerFlatFileItemReader() {
+    public ItemStreamReader<Player> playerFlatFileItemReader(@Value("#{jobParameters['readerMode']}") String readerMode) {
+        if ("mmap".equalsIgnoreCase(readerMode)) {
+            PlayerMappedFileItemReader reader = new PlayerMappedFileItemReader(Path.of("Players.csv"));
+            reader.setName("playerItemReader");
+            return reader;
+        }
          return new FlatFileItemReaderBuilder<Player>()
                  .name("playerItemReader")
                  .resource(new FileSystemResource("Players.csv"))
@@ -96,11 +121,13 @@ public class FileDataReadWriteConfig {
     /**
      * ItemProcessor<Player, PlayerYears> : Player 를 PlayerYears 로 변경할 수 있도록 제네릭 명시.
      * ItemProcessor 는 특정 객체로 변환 및 가공해주는 역할을 함.
+     * 경력 계산에 쓰이는 기준 연도는 @StepScope 이기 때문에 Step 실행마다 한 번만 구한다. (아이템마다 Year.now() 를 호출하지 않는다)
      */
     @Bean
     @StepScope
     public ItemProcessor<Player, PlayerYears> playerItemProcessor() {
-        return PlayerYears::new;
+        int referenceYear = Year.now().getValue();
+        return player -> new PlayerYears(player, referenceYear);
     }
 
     /**
@@ -113,26 +140,45 @@ public class FileDataReadWriteConfig {
      * 4. 또한, 필드를 추출할 수 있도록 setFieldExtractor() 메셔드로 이전의 BeanWrapperFieldExtractor 인스턴스를 넘겨준다.
      *
      * 5. 파일을 어디다가 쓸 것인지 FileResource 가 필요하다.
+     *
+     * 1 ~ 4 는 아이템마다 리플렉션을 사용하기 때문에, 실제로는 getter 를 직접 호출하는 PlayerYearsLineAggregator 를 사용한다. (출력 형식은 같다)
+     *
+     * outputMode=rolling 이면 압축하면서 partMaxRecords 건 / partMaxBytes byte 마다 파일을 나누는 RollingCompressedItemWriter 를 사용한다.
+     * 나뉜 파일은 받는 쪽에서 동시에 읽을 수 있고, 완료된 part 목록은 ExecutionContext 에 남기 때문에 재시작해도 이어서 쓴다.
+     *
+     * outputMode=columnar 이면 컬럼별로 모아서 쓰는 ColumnarItemWriter 로 players_output.col 을 만든다. (ColumnarFileReader 로 필요한 컬럼만 읽는다)
      * @return
      */
     @Bean
     @StepScope
-    public FlatFileItemWriter<PlayerYears> playerFlatFileItemWriter() {
-        BeanWrapperFieldExtractor<PlayerYears> beanWrapperFieldExtractor = new BeanWrapperFieldExtractor<>();
-        beanWrapperFieldExtractor.setNames(new String[]{"ID", "lastName", "position", "yearsExperience"});
-        beanWrapperFieldExtractor.afterPropertiesSet();
-
-        DelimitedLineAggregator<PlayerYears> delimitedLineAggregator = new DelimitedLineAggregator<>();
-        delimitedLineAggregator.setDelimiter(",");
-        delimitedLineAggregator.setFieldExtractor(beanWrapperFieldExtractor);
-
+    public ItemStreamWriter<PlayerYears> playerFlatFileItemWriter(@Value("#{jobParameters['outputMode']}") String outputMode,
+                                                                  @Value("#{jobParameters['compression']}") String compression,
+                                                                  @Value("#{jobParameters['partMaxRecords'] ?: 1000000}") long partMaxRecords,
+                                                                  @Value("#{jobParameters['partMaxBytes'] ?: 268435456}") long partMaxBytes,
+                                                                  @Value("#{jobParameters['bufferSize'] ?: 1048576}") int bufferSize,
+                                                                  @Value("#{jobParameters['rowGroupSize'] ?: 65536}") int rowGroupSize) {
+        if ("columnar".equalsIgnoreCase(outputMode)) {
+            ColumnarItemWriter<PlayerYears> writer = new ColumnarItemWriter<>(Path.of("players_output.col"), PlayerYearsColumns.schema(), rowGroupSize);
+            writer.setName("playerColumnarItemWriter");
+            return writer;
+        }
+        if ("rolling".equalsIgnoreCase(outputMode)) {
+            RollingCompressedItemWriter<PlayerYears> writer = new RollingCompressedItemWriter<>(Path.of("players_output.txt"),
+                    playerLineAggregator(), OutputCompression.from(compression), bufferSize, partMaxRecords, partMaxBytes);
+            writer.setName("playerRollingItemWriter");
+            return writer;
+        }
         FileSystemResource fileSystemResource = new FileSystemResource("players_output.txt");
 
         return new FlatFileItemWriterBuilder<PlayerYears>()
                 .name("playerItemWriter")
                 .resource(fileSystemResource)
-                .lineAggregator(delimitedLineAggregator)
+                .lineAggregator(playerLineAggregator())
                 .build();
     }
 
+    static LineAggregator<PlayerYears> playerLineAggregator() {
+        return new PlayerYearsLineAggregator();
+    }
+
 }
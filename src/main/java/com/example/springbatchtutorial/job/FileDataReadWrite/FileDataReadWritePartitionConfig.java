@@ -0,0 +1,144 @@
+package com.example.springbatchtutorial.job.FileDataReadWrite;
+
+import com.example.springbatchtutorial.core.chunk.AdaptiveChunkCompletionPolicy;
+import com.example.springbatchtutorial.core.chunk.ChunkProperties;
+import com.example.springbatchtutorial.job.FileDataReadWrite.dto.Player;
+import com.example.springbatchtutorial.job.FileDataReadWrite.dto.PlayerYears;
+import com.example.springbatchtutorial.job.FileDataReadWrite.partition.LineAlignedFilePartitioner;
+import com.example.springbatchtutorial.job.FileDataReadWrite.partition.PartFileMergeTasklet;
+import com.example.springbatchtutorial.job.FileDataReadWrite.reader.PlayerMappedFileItemReader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.file.FlatFileItemWriter;
+import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+
+/**
+ * desc: 큰 입력 파일을 줄 단위로 맞춘 byte 범위로 나누어 병렬로 처리한 뒤, 파티션별 출력 파일을 순서대로 합친다.
+ * --job.name=fileReadWritePartitionJob
+ * run param: gridSize=8 (없으면 CPU 코어 수)
+ */
+@RequiredArgsConstructor
+@Configuration
+public class FileDataReadWritePartitionConfig {
+
+    private static final String INPUT_FILE = "Players.csv";
+    private static final String OUTPUT_FILE = "players_output.txt";
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager platformTransactionManager;
+    private final ChunkProperties chunkProperties;
+
+    @Bean
+    public Job fileReadWritePartitionJob(Step fileReadWritePartitionStep, Step playerOutputMergeStep) {
+        return new JobBuilder("fileReadWritePartitionJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .start(fileReadWritePartitionStep)
+                .next(playerOutputMergeStep)
+                .build();
+    }
+
+    /**
+     * manager step. 입력 파일을 gridSize 개의 범위로 나누고 범위마다 worker step 을 동시에 실행한다.
+     * @return
+     */
+    @Bean
+    @JobScope
+    public Step fileReadWritePartitionStep(Step fileReadWriteWorkerStep,
+                                           TaskExecutor fileReadWriteTaskExecutor,
+                                           @Value("#{jobParameters['gridSize'] ?: T(java.lang.Runtime).getRuntime().availableProcessors()}") int gridSize) {
+        return new StepBuilder("fileReadWritePartitionStep", jobRepository)
+                .partitioner("fileReadWriteWorkerStep", new LineAlignedFilePartitioner(Path.of(INPUT_FILE), OUTPUT_FILE))
+                .step(fileReadWriteWorkerStep)
+                .gridSize(gridSize)
+                .taskExecutor(fileReadWriteTaskExecutor)
+                .build();
+    }
+
+    /**
+     * worker step. fileReadWriteStep 과 같은 Processor 를 사용하고, 파티션의 범위만 읽어서 파티션의 출력 파일에 쓴다.
+     * 이 Step 하나가 모든 파티션을 동시에 실행하지만 AdaptiveChunkCompletionPolicy 는 chunk 크기를 StepExecution (파티션) 마다 따로 가진다.
+     * @return
+     */
+    @Bean
+    @JobScope
+    public Step fileReadWriteWorkerStep(ItemReader<Player> playerRangeItemReader,
+                                        ItemProcessor<Player, PlayerYears> playerItemProcessor,
+                                        ItemWriter<PlayerYears> playerPartFileItemWriter) {
+        AdaptiveChunkCompletionPolicy completionPolicy = chunkProperties.newCompletionPolicy();
+        return new StepBuilder("fileReadWriteWorkerStep", jobRepository)
+                .<Player, PlayerYears>chunk(completionPolicy, platformTransactionManager)
+                .reader(playerRangeItemReader)
+                .processor(playerItemProcessor)
+                .writer(playerPartFileItemWriter)
+                .listener((ChunkListener) completionPolicy)
+                .build();
+    }
+
+    /**
+     * 모든 파티션이 끝나면 파티션별 출력 파일을 하나로 합친다.
+     * @return
+     */
+    @Bean
+    @JobScope
+    public Step playerOutputMergeStep() {
+        return new StepBuilder("playerOutputMergeStep", jobRepository)
+                .tasklet(new PartFileMergeTasklet(jobRepository, "fileReadWriteWorkerStep", Path.of(OUTPUT_FILE)), platformTransactionManager)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public PlayerMappedFileItemReader playerRangeItemReader(@Value("#{stepExecutionContext['startOffset']}") long startOffset,
+                                                            @Value("#{stepExecutionContext['endOffset']}") long endOffset) {
+        PlayerMappedFileItemReader reader = new PlayerMappedFileItemReader(Path.of(INPUT_FILE), startOffset, endOffset);
+        reader.setName("playerRangeItemReader");
+        return reader;
+    }
+
+    @Bean
+    @StepScope
+    public FlatFileItemWriter<PlayerYears> playerPartFileItemWriter(@Value("#{stepExecutionContext['outputFile']}") String outputFile) {
+        return new FlatFileItemWriterBuilder<PlayerYears>()
+                .name("playerPartFileItemWriter")
+                .resource(new FileSystemResource(outputFile))
+                .lineAggregator(FileDataReadWriteConfig.playerLineAggregator())
+                .build();
+    }
+
+    /**
+     * 파티션을 실행할 쓰레드풀. 파일 처리는 CPU 를 주로 사용하므로 코어 수만큼 쓰레드를 둔다.
+     * @return
+     */
+    @Bean
+    public TaskExecutor fileReadWriteTaskExecutor() {
+        int poolSize = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor.setThreadNamePrefix("file-read-write-");
+        taskExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        taskExecutor.initialize();
+        return taskExecutor;
+    }
+
+}
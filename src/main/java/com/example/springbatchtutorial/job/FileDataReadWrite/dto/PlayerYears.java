@@ -17,12 +17,19 @@ public class PlayerYears implements Serializable {
     private int yearsExperience;
 
     public PlayerYears(Player player) {
+        this(player, Year.now().getValue());
+    }
+
+    /**
+     * Year.now() 는 호출할 때마다 시스템 시계와 타임존을 읽기 때문에, 기준 연도는 Step 실행마다 한 번만 구해서 넘겨준다.
+     */
+    public PlayerYears(Player player, int referenceYear) {
         this.ID = player.getID();
         this.lastName = player.getLastName();
         this.firstName = player.getFirstName();
         this.position = player.getPosition();
         this.birthYear = player.getBirthYear();
         this.debutYear = player.getDebutYear();
-        this.yearsExperience = Year.now().getValue() - player.getDebutYear();
+        this.yearsExperience = referenceYear - player.getDebutYear();
     }
 }
@@ -0,0 +1,87 @@
+package com.example.springbatchtutorial.job.FileDataReadWrite.partition;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 입력 파일을 gridSize 개의 byte 범위로 나누는 Partitioner.
+ * 범위의 경계는 항상 다음 줄의 시작 위치로 맞추기 때문에 한 줄이 두 파티션에 걸치지 않는다. (첫 줄인 header 는 어느 범위에도 들어가지 않는다)
+ *
+ * 파티션의 ExecutionContext 에는 읽을 범위(startOffset, endOffset), 파티션 순서(partitionIndex), 파티션이 쓸 출력 파일(outputFile) 이 들어간다.
+ */
+public class LineAlignedFilePartitioner implements Partitioner {
+
+    public static final String START_OFFSET = "startOffset";
+    public static final String END_OFFSET = "endOffset";
+    public static final String PARTITION_INDEX = "partitionIndex";
+    public static final String OUTPUT_FILE = "outputFile";
+
+    private final Path inputFile;
+    private final String outputFile;
+
+    public LineAlignedFilePartitioner(Path inputFile, String outputFile) {
+        this.inputFile = inputFile;
+        this.outputFile = outputFile;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        try (RandomAccessFile file = new RandomAccessFile(inputFile.toFile(), "r")) {
+            long length = file.length();
+            long start = skipLine(file, 0);        // header
+            long targetSize = Math.max(1, (length - start) / Math.max(1, gridSize));
+
+            int index = 0;
+            while (start < length) {
+                long end = index == gridSize - 1 ? length : nextLineStart(file, Math.min(length, start + targetSize));
+                ExecutionContext context = new ExecutionContext();
+                context.putLong(START_OFFSET, start);
+                context.putLong(END_OFFSET, end);
+                context.putInt(PARTITION_INDEX, index);
+                context.putString(OUTPUT_FILE, String.format("%s.part-%05d", outputFile, index));
+                partitions.put("partition" + index++, context);
+                start = end;
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to partition " + inputFile, e);
+        }
+        return partitions;
+    }
+
+    /**
+     * position 이 줄의 중간이면 그 줄의 끝(\n) 다음 위치를 반환한다.
+     */
+    private long nextLineStart(RandomAccessFile file, long position) throws IOException {
+        if (position >= file.length()) {
+            return file.length();
+        }
+        file.seek(position - 1);
+        if (file.read() == '\n') {
+            return position;
+        }
+        return skipLine(file, position);
+    }
+
+    private long skipLine(RandomAccessFile file, long position) throws IOException {
+        file.seek(position);
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = file.read(buffer)) > 0) {
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return position;
+    }
+}
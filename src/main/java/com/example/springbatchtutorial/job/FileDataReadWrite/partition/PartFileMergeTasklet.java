@@ -0,0 +1,84 @@
+package com.example.springbatchtutorial.job.FileDataReadWrite.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 파티션마다 따로 쓴 출력 파일(outputFile.part-00000 ...) 을 파티션 순서대로 outputFile 하나로 이어 붙이고 지운다.
+ * FileChannel.transferTo 를 사용하므로 파일 내용을 JVM 메모리로 읽어들이지 않는다.
+ *
+ * 합칠 파일은 디렉토리를 뒤지지 않고 이번 Job 의 파티션 StepExecution 의 ExecutionContext (outputFile, partitionIndex) 에서 가져온다.
+ * 그래서 이전에 실패했거나 gridSize 가 더 컸던 실행이 남긴 part 파일은 합쳐지지 않는다.
+ * 재시작해서 이미 끝난 파티션이 다시 실행되지 않은 경우에도 JobRepository 에서 그 파티션의 마지막 StepExecution 을 찾아서 합친다.
+ */
+@Slf4j
+public class PartFileMergeTasklet implements Tasklet {
+
+    private final JobRepository jobRepository;
+    private final String workerStepName;
+    private final Path outputFile;
+
+    /**
+     * @param workerStepName 파티션 StepExecution 이름의 앞부분 (workerStepName:partition0 ...)
+     */
+    public PartFileMergeTasklet(JobRepository jobRepository, String workerStepName, Path outputFile) {
+        this.jobRepository = jobRepository;
+        this.workerStepName = workerStepName;
+        this.outputFile = outputFile;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws IOException {
+        List<Path> parts = findParts(chunkContext.getStepContext().getStepExecution().getJobExecution());
+        try (FileChannel target = FileChannel.open(outputFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Path part : parts) {
+                try (FileChannel source = FileChannel.open(part, StandardOpenOption.READ)) {
+                    long position = 0;
+                    long size = source.size();
+                    while (position < size) {
+                        position += source.transferTo(position, size - position, target);
+                    }
+                }
+            }
+        }
+        for (Path part : parts) {
+            Files.delete(part);
+        }
+        log.info("merged {} part files into {}", parts.size(), outputFile);
+        return RepeatStatus.FINISHED;
+    }
+
+    private List<Path> findParts(JobExecution jobExecution) {
+        String prefix = workerStepName + ":";
+        List<Path> parts = jobExecution.getStepExecutions().stream()
+                .map(StepExecution::getStepName)
+                .filter(stepName -> stepName.startsWith(prefix))
+                .distinct()
+                .map(stepName -> jobRepository.getLastStepExecution(jobExecution.getJobInstance(), stepName))
+                .sorted(Comparator.comparingInt(stepExecution ->
+                        stepExecution.getExecutionContext().getInt(LineAlignedFilePartitioner.PARTITION_INDEX)))
+                .map(stepExecution -> Path.of(stepExecution.getExecutionContext().getString(LineAlignedFilePartitioner.OUTPUT_FILE)))
+                .toList();
+        for (Path part : parts) {
+            if (!Files.exists(part)) {
+                throw new IllegalStateException("Part file of a completed partition is missing: " + part);
+            }
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.springbatchtutorial.job.FileDataReadWrite.reader;
+
+import com.example.springbatchtutorial.job.FileDataReadWrite.dto.Player;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.util.ExecutionContextUserSupport;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Players.csv 를 FileChannel.map 으로 메모리에 매핑해서 byte 단위로 바로 Player 를 만드는 ItemReader.
+ *
+ * FlatFileItemReader 는 한 줄마다 String 을 만들고, DelimitedLineTokenizer 가 다시 String[] 로 나눈 FieldSet 을 만든 뒤
+ * PlayerFieldSetMapper 가 Integer.parseInt 를 하기 때문에 한 줄에 여러 개의 버려지는 객체가 생긴다.
+ * 이 Reader 는 구분자(,) 위치만 찾아서 문자열 필드만 String 으로 만들고, birthYear / debutYear 는 byte 에서 바로 숫자로 읽는다.
+ *
+ * - 첫 줄(header) 은 건너뛴다.
+ * - 줄 끝의 콤마(현재 Players.csv 의 형식) 와 \r\n 은 무시한다.
+ * - 다음에 읽을 줄의 byte offset 과 줄 번호를 ExecutionContext 에 저장하므로 재시작하면 그 위치부터 읽는다.
+ * - 숫자 필드가 비어 있거나 숫자가 아니면 FlatFileItemReader + PlayerFieldSetMapper 와 같이 FlatFileParseException 이 발생한다.
+ *
+ * 파일 전체를 한 번에 매핑하지 않고 windowSize 만큼씩 매핑하기 때문에 2GB 보다 큰 파일도 읽을 수 있다.
+ * startOffset, endOffset 을 주면 header 를 건너뛰지 않고 그 byte 범위의 줄만 읽는다. (범위는 줄의 시작 위치에 맞춰져 있어야 한다)
+ */
+public class PlayerMappedFileItemReader implements ItemStreamReader<Player> {
+
+    private static final String OFFSET = "offset";
+    private static final String LINE_NUMBER = "lineNumber";
+    private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+    private static final int FIELD_COUNT = 6;
+
+    private final ExecutionContextUserSupport executionContextUserSupport = new ExecutionContextUserSupport();
+    private final Path path;
+    private final int windowSize;
+    private final long startOffset;
+    private final long endOffset;
+    private final boolean skipHeader;
+
+    private FileChannel channel;
+    private long endPosition;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long offset;
+    private long lineNumber;
+
+    private final int[] fieldStart = new int[FIELD_COUNT];
+    private final int[] fieldEnd = new int[FIELD_COUNT];
+    private byte[] scratch = new byte[64];
+
+    public PlayerMappedFileItemReader(Path path) {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    public PlayerMappedFileItemReader(Path path, int windowSize) {
+        this(path, windowSize, 0, Long.MAX_VALUE, true);
+    }
+
+    public PlayerMappedFileItemReader(Path path, long startOffset, long endOffset) {
+        this(path, DEFAULT_WINDOW_SIZE, startOffset, endOffset, false);
+    }
+
+    private PlayerMappedFileItemReader(Path path, int windowSize, long startOffset, long endOffset, boolean skipHeader) {
+        Assert.notNull(path, "path must not be null");
+        Assert.isTrue(windowSize > 0, "windowSize must be greater than zero");
+        Assert.isTrue(0 <= startOffset && startOffset <= endOffset, "offsets must satisfy 0 <= startOffset <= endOffset");
+        this.path = path;
+        this.windowSize = windowSize;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.skipHeader = skipHeader;
+        executionContextUserSupport.setName("playerMappedFileItemReader");
+    }
+
+    /**
+     * ExecutionContext 에 저장하는 key 의 prefix
+     */
+    public void setName(String name) {
+        executionContextUserSupport.setName(name);
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            endPosition = Math.min(channel.size(), endOffset);
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to open " + path, e);
+        }
+        window = null;
+        lineNumber = 0;
+        String key = executionContextUserSupport.getKey(OFFSET);
+        if (executionContext.containsKey(key)) {
+            offset = executionContext.getLong(key);
+            lineNumber = executionContext.getLong(executionContextUserSupport.getKey(LINE_NUMBER), 0L);
+        } else {
+            offset = startOffset;
+            if (skipHeader && offset < endPosition) {
+                moveToNextLine(nextLineEnd());      // header
+            }
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        executionContext.putLong(executionContextUserSupport.getKey(OFFSET), offset);
+        executionContext.putLong(executionContextUserSupport.getKey(LINE_NUMBER), lineNumber);
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        window = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new ItemStreamException("Failed to close " + path, e);
+            } finally {
+                channel = null;
+            }
+        }
+    }
+
+    @Override
+    public Player read() {
+        while (offset < endPosition) {
+            int end = nextLineEnd();
+            int start = (int) (offset - windowStart);
+            int lineEnd = end;
+            moveToNextLine(end);
+            if (lineEnd > start && window.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            if (lineEnd > start) {
+                return mapLine(start, lineEnd);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * offset 에서 시작하는 줄이 window 안에 모두 들어오도록 매핑하고, 줄 끝(\n 또는 파일 끝)의 window 내 위치를 반환한다.
+     */
+    private int nextLineEnd() {
+        if (window == null || offset < windowStart || offset >= windowStart + window.limit()) {
+            map(offset, windowSize);
+        }
+        int end = indexOfNewLine((int) (offset - windowStart));
+        long size = windowSize;
+        while (end < 0 && windowStart + window.limit() < endPosition) {
+            // 줄이 window 경계에 걸쳐 있으면 줄의 시작부터 다시 매핑한다. (줄이 window 보다 길면 window 를 키운다)
+            size = offset == windowStart ? size * 2 : size;
+            map(offset, size);
+            end = indexOfNewLine(0);
+        }
+        if (end < 0) {
+            end = window.limit();
+        }
+        lineNumber++;
+        return end;
+    }
+
+    private void moveToNextLine(int lineEnd) {
+        offset = windowStart + Math.min(lineEnd + 1L, window.limit());
+    }
+
+    private int indexOfNewLine(int from) {
+        for (int i = from, limit = window.limit(); i < limit; i++) {
+            if (window.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void map(long position, long size) {
+        try {
+            windowStart = position;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(Math.min(size, Integer.MAX_VALUE), endPosition - position));
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to map " + path + " at " + position, e);
+        }
+    }
+
+    private Player mapLine(int start, int end) {
+        int field = 0;
+        fieldStart[0] = start;
+        for (int i = start; i < end && field < FIELD_COUNT; i++) {
+            if (window.get(i) == ',') {
+                fieldEnd[field++] = i;
+                if (field < FIELD_COUNT) {
+                    fieldStart[field] = i + 1;
+                }
+            }
+        }
+        if (field < FIELD_COUNT) {
+            if (field < FIELD_COUNT - 1) {
+                throw new FlatFileParseException("Expected " + FIELD_COUNT + " fields but found " + (field + 1),
+                        string(start, end), (int) lineNumber);
+            }
+            fieldEnd[field] = end;      // 줄 끝에 콤마가 없는 경우
+        }
+
+        Player player = new Player();
+        player.setID(string(fieldStart[0], fieldEnd[0]));
+        player.setLastName(string(fieldStart[1], fieldEnd[1]));
+        player.setFirstName(string(fieldStart[2], fieldEnd[2]));
+        player.setPosition(string(fieldStart[3], fieldEnd[3]));
+        player.setBirthYear(parseInt(fieldStart[4], fieldEnd[4], start, end));
+        player.setDebutYear(parseInt(fieldStart[5], fieldEnd[5], start, end));
+        return player;
+    }
+
+    private String string(int from, int to) {
+        int length = to - from;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        window.get(from, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private int parseInt(int from, int to, int lineStart, int lineEnd) {
+        boolean negative = from < to && window.get(from) == '-';
+        int digits = negative ? from + 1 : from;
+        int value = 0;
+        if (digits == to) {
+            // 빈 필드를 0 으로 읽지 않고 FieldSet.readInt 와 같이 실패시킨다.
+            throw new FlatFileParseException("Unparseable number: " + string(from, to),
+                    string(lineStart, lineEnd), (int) lineNumber);
+        }
+        for (int i = digits; i < to; i++) {
+            int digit = window.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new FlatFileParseException("Unparseable number: " + string(from, to),
+                        string(lineStart, lineEnd), (int) lineNumber);
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+}
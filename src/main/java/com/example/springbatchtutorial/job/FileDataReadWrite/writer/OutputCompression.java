@@ -0,0 +1,53 @@
+package com.example.springbatchtutorial.job.FileDataReadWrite.writer;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * RollingCompressedItemWriter 의 압축 방식.
+ * run param: compression=none|gzip|zstd (없으면 gzip)
+ *
+ * gzip member / zstd frame 은 이어 붙여도 하나의 파일로 읽을 수 있기 때문에 (gunzip, zstd -d, GZIPInputStream)
+ * chunk 가 commit 될 때마다 member(frame) 를 끝내고, 재시작할 때는 마지막으로 commit 된 위치부터 새 member 를 이어서 쓴다.
+ */
+public enum OutputCompression {
+
+    NONE(""),
+    GZIP(".gz"),
+    ZSTD(".zst");       // zstd 는 gzip 보다 압축과 해제가 빠르다. (level 3)
+
+    private static final int ZSTD_LEVEL = 3;
+
+    private final String extension;
+
+    OutputCompression(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * out 위에 새 member(frame) 를 연다. 반환된 stream 을 close 하면 member 가 끝나고 out 도 close 된다.
+     * @param bufferSize 압축된 데이터를 모아서 out 에 넘기는 버퍼 크기
+     */
+    OutputStream open(OutputStream out, int bufferSize) throws IOException {
+        return switch (this) {
+            case NONE -> out;
+            case GZIP -> new GZIPOutputStream(out, bufferSize);
+            case ZSTD -> new ZstdOutputStream(out, ZSTD_LEVEL);
+        };
+    }
+
+    public static OutputCompression from(String value) {
+        if (!StringUtils.hasText(value)) {
+            return GZIP;
+        }
+        return OutputCompression.valueOf(value.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.springbatchtutorial.job.FileDataReadWrite.writer;
+
+import com.example.springbatchtutorial.core.columnar.ColumnarSchema;
+import com.example.springbatchtutorial.job.FileDataReadWrite.dto.PlayerYears;
+
+/**
+ * PlayerYears 를 컬럼 파일로 쓸 때의 컬럼 정의. (ColumnarItemWriter)
+ * position 은 종류가 적기 때문에 사전 인코딩하고, 연도는 int 컬럼으로 저장한다.
+ */
+public final class PlayerYearsColumns {
+
+    private PlayerYearsColumns() {
+    }
+
+    public static ColumnarSchema<PlayerYears> schema() {
+        return ColumnarSchema.<PlayerYears>builder()
+                .stringColumn("ID", PlayerYears::getID)
+                .stringColumn("lastName", PlayerYears::getLastName)
+                .stringColumn("firstName", PlayerYears::getFirstName)
+                .dictionaryColumn("position", PlayerYears::getPosition)
+                .intColumn("birthYear", PlayerYears::getBirthYear)
+                .intColumn("debutYear", PlayerYears::getDebutYear)
+                .intColumn("yearsExperience", PlayerYears::getYearsExperience)
+                .build();
+    }
+}
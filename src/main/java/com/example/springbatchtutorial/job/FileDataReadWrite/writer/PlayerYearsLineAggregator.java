@@ -0,0 +1,30 @@
+package com.example.springbatchtutorial.job.FileDataReadWrite.writer;
+
+import com.example.springbatchtutorial.job.FileDataReadWrite.dto.PlayerYears;
+import org.springframework.batch.item.file.transform.LineAggregator;
+
+/**
+ * PlayerYears 를 "ID,lastName,position,yearsExperience" 한 줄로 만드는 LineAggregator.
+ *
+ * BeanWrapperFieldExtractor 는 아이템마다 리플렉션으로 getter 를 찾아 Object[] 를 만들고, DelimitedLineAggregator 는 그 배열을 다시 String 으로 이어 붙인다.
+ * 이 LineAggregator 는 getter 를 직접 호출해서 재사용하는 StringBuilder 에 바로 쓰기 때문에 줄마다 만들어지는 객체는 결과 String 하나뿐이다.
+ * 출력 형식은 DelimitedLineAggregator(",") + BeanWrapperFieldExtractor 와 같다. (null 은 "null")
+ *
+ * StringBuilder 를 재사용하므로 쓰레드 간에 공유하지 않는다. (Writer 마다 새로 만든다)
+ */
+public class PlayerYearsLineAggregator implements LineAggregator<PlayerYears> {
+
+    private static final char DELIMITER = ',';
+
+    private final StringBuilder line = new StringBuilder(64);
+
+    @Override
+    public String aggregate(PlayerYears item) {
+        line.setLength(0);
+        line.append(item.getID()).append(DELIMITER)
+                .append(item.getLastName()).append(DELIMITER)
+                .append(item.getPosition()).append(DELIMITER)
+                .append(item.getYearsExperience());
+        return line.toString();
+    }
+}
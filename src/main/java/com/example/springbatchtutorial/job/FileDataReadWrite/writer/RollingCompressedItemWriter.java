@@ -0,0 +1,297 @@
+package com.example.springbatchtutorial.job.FileDataReadWrite.writer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.file.transform.LineAggregator;
+import org.springframework.batch.item.util.ExecutionContextUserSupport;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 아이템을 한 줄씩 압축해서 쓰고, 파일(part) 하나가 maxRecordsPerPart 건 또는 maxBytesPerPart byte 를 넘으면 다음 파일로 넘어가는 Writer.
+ * players_output.txt --> players_output-00000.txt.gz, players_output-00001.txt.gz ...
+ *
+ * - 파일에는 bufferSize 크기의 버퍼를 거쳐서 쓰기 때문에 작은 write 가 system call 로 바로 이어지지 않는다.
+ * - maxBytesPerPart 는 압축된 크기 기준이다. (압축기 안에 남아있는 데이터만큼 조금 넘을 수 있다)
+ * - chunk 가 commit 될 때마다 압축 member 를 끝내고, part 목록(manifest) 을 ExecutionContext 에 저장한다.
+ *   manifest 의 마지막 part 는 쓰고 있던 part 이며 byte 수는 마지막으로 commit 된 위치이다.
+ *   재시작하면 마지막 part 를 그 위치로 잘라내고 이어서 쓰기 때문에, commit 되지 않은 줄이 중복되거나 압축 데이터가 깨지지 않는다.
+ * - member 는 chunk 마다 하나씩 생기므로 압축할 때는 chunk 크기를 크게 (수천 건 이상) 잡는 것이 좋다.
+ */
+@Slf4j
+public class RollingCompressedItemWriter<T> implements ItemStreamWriter<T> {
+
+    private static final String MANIFEST_KEY = "manifest";
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final ExecutionContextUserSupport executionContextUserSupport = new ExecutionContextUserSupport(ClassUtils.getShortName(RollingCompressedItemWriter.class));
+    private final Path directory;
+    private final String baseName;
+    private final String extension;
+    private final LineAggregator<T> lineAggregator;
+    private final OutputCompression compression;
+    private final int bufferSize;
+    private final long maxRecordsPerPart;
+    private final long maxBytesPerPart;
+
+    private final List<Part> completedParts = new ArrayList<>();
+    private int partIndex;
+    private long partRecords;
+    private FileChannel channel;
+    private BufferedOutputStream buffered;
+    private CountingOutputStream counting;
+    private Writer member;
+
+    /**
+     * @param output part 파일 이름의 기준이 되는 파일. (players_output.txt --> players_output-00000.txt.gz)
+     */
+    public RollingCompressedItemWriter(Path output, LineAggregator<T> lineAggregator, OutputCompression compression,
+                                       int bufferSize, long maxRecordsPerPart, long maxBytesPerPart) {
+        Assert.isTrue(bufferSize > 0, "bufferSize must be greater than 0");
+        Assert.isTrue(maxRecordsPerPart > 0, "maxRecordsPerPart must be greater than 0");
+        Assert.isTrue(maxBytesPerPart > 0, "maxBytesPerPart must be greater than 0");
+        Path absolute = output.toAbsolutePath();
+        String fileName = absolute.getFileName().toString();
+        this.directory = absolute.getParent();
+        this.baseName = StringUtils.stripFilenameExtension(fileName);
+        String extension = StringUtils.getFilenameExtension(fileName);
+        this.extension = (extension == null ? "" : "." + extension) + compression.extension();
+        this.lineAggregator = lineAggregator;
+        this.compression = compression;
+        this.bufferSize = bufferSize;
+        this.maxRecordsPerPart = maxRecordsPerPart;
+        this.maxBytesPerPart = maxBytesPerPart;
+    }
+
+    /**
+     * ExecutionContext 에 저장하는 key 의 prefix
+     */
+    public void setName(String name) {
+        executionContextUserSupport.setName(name);
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        completedParts.clear();
+        String manifest = executionContext.getString(executionContextUserSupport.getKey(MANIFEST_KEY), "");
+        if (StringUtils.hasText(manifest)) {
+            List<Part> parts = Part.parseManifest(manifest);
+            Part current = parts.remove(parts.size() - 1);
+            completedParts.addAll(parts);
+            partIndex = parts.size();
+            partRecords = current.records();
+            openPart(current.bytes());
+            log.info("{} 의 {} byte 부터 이어서 쓴다. (완료된 part {} 개)", current.file(), current.bytes(), completedParts.size());
+        } else {
+            partIndex = 0;
+            partRecords = 0;
+            openPart(0);
+        }
+        deleteStaleParts();
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        for (T item : chunk) {
+            if (partRecords > 0 && (partRecords >= maxRecordsPerPart || counting.count >= maxBytesPerPart)) {
+                roll();
+            }
+            Writer writer = member();
+            writer.write(lineAggregator.aggregate(item));
+            writer.write(LINE_SEPARATOR);
+            partRecords++;
+        }
+    }
+
+    /**
+     * chunk 가 commit 될 때 호출된다. 지금까지 쓴 내용을 압축 member 로 끝내고 파일에 내려쓴 뒤 manifest 를 저장한다.
+     */
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            finishMember();
+            buffered.flush();
+        } catch (IOException e) {
+            throw new ItemStreamException("part 파일을 쓰지 못했습니다. : " + partFileName(partIndex), e);
+        }
+        List<Part> parts = new ArrayList<>(completedParts);
+        parts.add(new Part(partFileName(partIndex), partRecords, counting.count));
+        executionContext.putString(executionContextUserSupport.getKey(MANIFEST_KEY), Part.toManifest(parts));
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            closePart();
+        } catch (IOException e) {
+            throw new ItemStreamException("part 파일을 닫지 못했습니다. : " + partFileName(partIndex), e);
+        }
+    }
+
+    private void roll() throws IOException {
+        closePart();
+        completedParts.add(new Part(partFileName(partIndex), partRecords, counting.count));
+        log.debug("{} 완료 ({} 건, {} byte)", partFileName(partIndex), partRecords, counting.count);
+        partIndex++;
+        partRecords = 0;
+        openPart(0);
+    }
+
+    /**
+     * 현재 part 파일을 offset 위치로 잘라내고 그 뒤에 이어서 쓰도록 연다. 새 part 는 offset 이 0 이다.
+     */
+    private void openPart(long offset) {
+        Path path = directory.resolve(partFileName(partIndex));
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            if (channel.size() < offset) {
+                channel.close();
+                channel = null;
+                throw new ItemStreamException(path + " 의 크기가 commit 된 위치 " + offset + " 보다 작아서 이어서 쓸 수 없습니다.");
+            }
+            channel.truncate(offset);
+            channel.position(offset);
+        } catch (IOException e) {
+            throw new ItemStreamException("part 파일을 열지 못했습니다. : " + path, e);
+        }
+        buffered = new BufferedOutputStream(Channels.newOutputStream(channel), bufferSize);
+        counting = new CountingOutputStream(buffered, offset);
+    }
+
+    private void closePart() throws IOException {
+        try {
+            finishMember();
+            buffered.close();
+        } finally {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * 아이템을 쓸 때 압축 member 를 연다. commit 사이에 쓴 아이템이 없으면 빈 member 를 만들지 않는다.
+     */
+    private Writer member() throws IOException {
+        if (member == null) {
+            OutputStream compressed = compression.open(new MemberBoundaryOutputStream(counting), bufferSize);
+            member = new OutputStreamWriter(compressed, StandardCharsets.UTF_8);
+        }
+        return member;
+    }
+
+    private void finishMember() throws IOException {
+        if (member != null) {
+            member.close();
+            member = null;
+        }
+    }
+
+    /**
+     * 이전 실행에서 지금 part 보다 뒤의 part 까지 썼다면 그 파일들은 다시 쓰기 전까지 남아있지 않도록 지운다.
+     */
+    private void deleteStaleParts() {
+        try {
+            for (int index = partIndex + 1; Files.deleteIfExists(directory.resolve(partFileName(index))); index++) {
+                log.debug("이전 실행의 {} 를 지웠다.", partFileName(index));
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("이전 실행의 part 파일을 지우지 못했습니다.", e);
+        }
+    }
+
+    private String partFileName(int index) {
+        return String.format("%s-%05d%s", baseName, index, extension);
+    }
+
+    /**
+     * manifest 의 한 줄. 파일이름,건수,byte
+     */
+    record Part(String file, long records, long bytes) {
+
+        static List<Part> parseManifest(String manifest) {
+            List<Part> parts = new ArrayList<>();
+            for (String line : manifest.split("\n")) {
+                String[] fields = line.split(",");
+                parts.add(new Part(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2])));
+            }
+            return parts;
+        }
+
+        static String toManifest(List<Part> parts) {
+            return parts.stream()
+                    .map(part -> part.file() + "," + part.records() + "," + part.bytes())
+                    .collect(Collectors.joining("\n"));
+        }
+    }
+
+    /**
+     * 파일에 쓰인 byte 수 (압축된 크기). 버퍼 위에 두기 때문에 아직 버퍼에 있는 byte 도 포함한다.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out, long count) {
+            super(out);
+            this.count = count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    /**
+     * 압축 member 를 close 해도 part 파일은 닫히지 않도록 close 를 막는다.
+     */
+    private static class MemberBoundaryOutputStream extends FilterOutputStream {
+
+        MemberBoundaryOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.example.springbatchtutorial.job.MetadataHousekeeping;
+
+import com.example.springbatchtutorial.job.DbDataReadWrite.listener.OrdersHighWaterMark;
+import com.example.springbatchtutorial.job.MetadataHousekeeping.tasklet.MetadataIndexTasklet;
+import com.example.springbatchtutorial.job.MetadataHousekeeping.tasklet.MetadataLookupProbeTasklet;
+import com.example.springbatchtutorial.job.MetadataHousekeeping.tasklet.MetadataPruneTasklet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ *  desc: Spring Batch 메타데이터 테이블 정리 (보관 기간이 지난 실행 삭제 / 보관)
+ *  run : --job.name=metadataHousekeepingJob
+ *  run param: retentionDays=90 (보관 기간), batchSize=500 (트랜잭션 하나에서 지울 JobExecution 수), archive=false (true 면 *_ARCHIVE 테이블로 옮긴다)
+ *
+ *  1. 정리 전 메타데이터 조회 시간 측정 (Job ExecutionContext : housekeeping.lookupMicros.before, 그 때의 JobInstance 수 housekeeping.lookupInstances.before)
+ *  2. 빠진 인덱스 추가
+ *  3. 보관 기간이 지난 실행 삭제
+ *  4. 정리 후 메타데이터 조회 시간 측정 (housekeeping.lookupMicros.after, housekeeping.lookupInstances.after)
+ */
+@RequiredArgsConstructor
+@Configuration
+public class MetadataHousekeepingJobConfig {
+
+    public static final String LOOKUP_MICROS_BEFORE = "housekeeping.lookupMicros.before";
+    public static final String LOOKUP_MICROS_AFTER = "housekeeping.lookupMicros.after";
+    public static final String LOOKUP_INSTANCES_BEFORE = "housekeeping.lookupInstances.before";
+    public static final String LOOKUP_INSTANCES_AFTER = "housekeeping.lookupInstances.after";
+
+    private static final int PROBE_ITERATIONS = 20;
+
+    /**
+     * 다음 실행이 이전 실행의 Job ExecutionContext 에서 읽는 key. 이 key 를 가진 마지막 COMPLETED 실행은 지우지 않는다.
+     */
+    private static final List<String> PRESERVED_CONTEXT_KEYS = List.of(OrdersHighWaterMark.HIGH_WATER_MARK);
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager platformTransactionManager;
+    private final JobExplorer jobExplorer;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.batch.jdbc.table-prefix:BATCH_}")
+    private String tablePrefix;
+
+    @Bean
+    public Job metadataHousekeepingJob(Step metadataLookupBeforeStep,
+                                       Step metadataIndexStep,
+                                       Step metadataPruneStep,
+                                       Step metadataLookupAfterStep) {
+        return new JobBuilder("metadataHousekeepingJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .start(metadataLookupBeforeStep)
+                .next(metadataIndexStep)
+                .next(metadataPruneStep)
+                .next(metadataLookupAfterStep)
+                .build();
+    }
+
+    @Bean
+    @JobScope
+    public Step metadataLookupBeforeStep() {
+        return new StepBuilder("metadataLookupBeforeStep", jobRepository)
+                .tasklet(new MetadataLookupProbeTasklet(jobExplorer, LOOKUP_MICROS_BEFORE, LOOKUP_INSTANCES_BEFORE, PROBE_ITERATIONS), platformTransactionManager)
+                .build();
+    }
+
+    @Bean
+    @JobScope
+    public Step metadataIndexStep() {
+        return new StepBuilder("metadataIndexStep", jobRepository)
+                .tasklet(new MetadataIndexTasklet(jdbcTemplate, tablePrefix), platformTransactionManager)
+                .build();
+    }
+
+    /**
+     * 끝난 지 retentionDays 일이 지난 실행을 batchSize 개씩 지운다. (batch 마다 커밋)
+     * high-water mark 를 가진 마지막 성공 실행은 남긴다.
+     * @return
+     */
+    @Bean
+    @JobScope
+    public Step metadataPruneStep(@Value("#{jobParameters['retentionDays'] ?: 90}") int retentionDays,
+                                  @Value("#{jobParameters['batchSize'] ?: 500}") int batchSize,
+                                  @Value("#{jobParameters['archive'] ?: false}") boolean archive) {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        return new StepBuilder("metadataPruneStep", jobRepository)
+                .tasklet(new MetadataPruneTasklet(jdbcTemplate, jobExplorer, PRESERVED_CONTEXT_KEYS,
+                        tablePrefix, cutoff, batchSize, archive), platformTransactionManager)
+                .build();
+    }
+
+    @Bean
+    @JobScope
+    public Step metadataLookupAfterStep() {
+        return new StepBuilder("metadataLookupAfterStep", jobRepository)
+                .tasklet(new MetadataLookupProbeTasklet(jobExplorer, LOOKUP_MICROS_AFTER, LOOKUP_INSTANCES_AFTER, PROBE_ITERATIONS), platformTransactionManager)
+                .build();
+    }
+
+}
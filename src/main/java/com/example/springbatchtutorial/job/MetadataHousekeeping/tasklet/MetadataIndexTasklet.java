@@ -0,0 +1,73 @@
+package com.example.springbatchtutorial.job.MetadataHousekeeping.tasklet;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 기본 스키마(schema-*.sql) 에 없는 메타데이터 테이블 인덱스를 만든다. 이미 있는 인덱스는 건너뛴다.
+ *
+ * - JOB_EXEC_INST_IDX : BATCH_JOB_EXECUTION(JOB_INSTANCE_ID, JOB_EXECUTION_ID) --> getLastJobExecution(jobInstance)
+ * - JOB_EXEC_END_IDX : BATCH_JOB_EXECUTION(END_TIME) --> 보관 기간이 지난 실행 찾기
+ * - STEP_EXEC_NAME_IDX : BATCH_STEP_EXECUTION(JOB_EXECUTION_ID, STEP_NAME) --> getLastStepExecution, 재시작할 때 Step 찾기
+ */
+@Slf4j
+public class MetadataIndexTasklet implements Tasklet {
+
+    private record MetadataIndex(String name, String table, String columns) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<MetadataIndex> indexes;
+
+    public MetadataIndexTasklet(JdbcTemplate jdbcTemplate, String tablePrefix) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.indexes = List.of(
+                new MetadataIndex(tablePrefix + "JOB_EXEC_INST_IDX", tablePrefix + "JOB_EXECUTION", "JOB_INSTANCE_ID, JOB_EXECUTION_ID"),
+                new MetadataIndex(tablePrefix + "JOB_EXEC_END_IDX", tablePrefix + "JOB_EXECUTION", "END_TIME"),
+                new MetadataIndex(tablePrefix + "STEP_EXEC_NAME_IDX", tablePrefix + "STEP_EXECUTION", "JOB_EXECUTION_ID, STEP_NAME"));
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        for (MetadataIndex index : indexes) {
+            if (existingIndexes(index.table()).contains(index.name().toUpperCase(Locale.ROOT))) {
+                continue;
+            }
+            jdbcTemplate.execute("CREATE INDEX " + index.name() + " ON " + index.table() + " (" + index.columns() + ")");
+            log.info("created index {} on {} ({})", index.name(), index.table(), index.columns());
+        }
+        return RepeatStatus.FINISHED;
+    }
+
+    private Set<String> existingIndexes(String table) {
+        return jdbcTemplate.execute((ConnectionCallback<Set<String>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Set<String> names = new HashSet<>();
+            // 테이블 이름을 대문자로 저장하는 DB (H2) 와 그대로 저장하는 DB (MySQL) 를 모두 찾는다.
+            for (String tableName : new LinkedHashSet<>(List.of(table, table.toUpperCase(Locale.ROOT), table.toLowerCase(Locale.ROOT)))) {
+                try (ResultSet resultSet = metaData.getIndexInfo(connection.getCatalog(), null, tableName, false, true)) {
+                    while (resultSet.next()) {
+                        String indexName = resultSet.getString("INDEX_NAME");
+                        if (indexName != null) {
+                            names.add(indexName.toUpperCase(Locale.ROOT));
+                        }
+                    }
+                }
+            }
+            return names;
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.springbatchtutorial.job.MetadataHousekeeping.tasklet;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.NoSuchJobException;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+
+import java.util.List;
+
+/**
+ * Job 을 실행할 때마다 JobRepository 가 하는 조회(마지막 JobInstance, 마지막 JobExecution, 실행 중인 JobExecution) 를
+ * Job 이름마다 iterations 번 실행해서 한 번 조회하는 데 걸린 평균 시간(µs) 을 로그와 Job 의 ExecutionContext (microsKey) 에 남긴다.
+ * 조회한 JobInstance 수도 함께 남겨서 (instancesKey) 정리한 양과 조회 시간을 같이 볼 수 있게 한다.
+ *
+ * 정리 전 / 후에 한 번씩 실행해서 메타데이터 정리의 효과를 비교한다.
+ */
+@Slf4j
+public class MetadataLookupProbeTasklet implements Tasklet {
+
+    private final JobExplorer jobExplorer;
+    private final String microsKey;
+    private final String instancesKey;
+    private final int iterations;
+
+    public MetadataLookupProbeTasklet(JobExplorer jobExplorer, String microsKey, String instancesKey, int iterations) {
+        this.jobExplorer = jobExplorer;
+        this.microsKey = microsKey;
+        this.instancesKey = instancesKey;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws NoSuchJobException {
+        List<String> jobNames = jobExplorer.getJobNames();
+        long instances = 0;
+        for (String jobName : jobNames) {
+            instances += jobExplorer.getJobInstanceCount(jobName);
+        }
+        long lookups = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (String jobName : jobNames) {
+                JobInstance jobInstance = jobExplorer.getLastJobInstance(jobName);
+                if (jobInstance != null) {
+                    jobExplorer.getLastJobExecution(jobInstance);
+                }
+                jobExplorer.findRunningJobExecutions(jobName);
+                lookups++;
+            }
+        }
+        long averageMicros = lookups == 0 ? 0 : (System.nanoTime() - start) / 1_000 / lookups;
+
+        ExecutionContext jobContext = chunkContext.getStepContext().getStepExecution().getJobExecution().getExecutionContext();
+        jobContext.putLong(microsKey, averageMicros);
+        jobContext.putLong(instancesKey, instances);
+        log.info("{}: {} job names, {} job instances, {} µs per lookup", microsKey, jobNames.size(), instances, averageMicros);
+        return RepeatStatus.FINISHED;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.springbatchtutorial.job.MetadataHousekeeping.tasklet;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 끝난 지 보관 기간(cutoff) 이 지난 JobExecution 과 그 자식 row 들을 batchSize 개의 JobExecution 씩 지운다.
+ *
+ * execute() 한 번이 batchSize 개를 지우고 CONTINUABLE 을 반환하기 때문에 TaskletStep 이 batch 마다 트랜잭션을 나눠서 커밋한다.
+ * (한 번에 지우면 수백만 row 의 undo log 와 lock 이 하나의 트랜잭션에 쌓인다.)
+ *
+ * 지우는 순서는 FK 의 반대 순서이다.
+ * STEP_EXECUTION_CONTEXT -> STEP_EXECUTION -> JOB_EXECUTION_CONTEXT -> JOB_EXECUTION_PARAMS -> JOB_EXECUTION -> (실행이 남지 않은) JOB_INSTANCE
+ *
+ * - Job 이름마다 마지막으로 COMPLETED 된 실행은 남긴다.
+ * - Job 이름마다 preservedContextKeys 중 하나를 ExecutionContext 에 가진 마지막 COMPLETED 실행도 남긴다.
+ *   (trMigrationJob 의 orders.highWaterMark 처럼 다음 실행이 이전 실행의 context 를 읽는 경우. 마지막 실행이 그 key 를 남기지 않는 모드로 실행되었을 수 있다)
+ *   ExecutionContext 는 직렬화되어 저장되므로 JobExplorer 로 최근 PRESERVED_LOOKUP_INSTANCES 개의 JobInstance 만 읽어서 찾는다.
+ * - END_TIME 이 없는 (실행 중이거나 비정상 종료된) 실행은 지우지 않는다.
+ * - archive 가 true 면 지우기 전에 같은 구조의 {테이블}_ARCHIVE 테이블로 복사한다.
+ */
+@Slf4j
+public class MetadataPruneTasklet implements Tasklet {
+
+    private static final String[] ARCHIVED_TABLES = {
+            "JOB_INSTANCE", "JOB_EXECUTION", "JOB_EXECUTION_PARAMS", "JOB_EXECUTION_CONTEXT", "STEP_EXECUTION", "STEP_EXECUTION_CONTEXT"
+    };
+    private static final int PRESERVED_LOOKUP_INSTANCES = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate limitedJdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final NamedParameterJdbcTemplate limitedNamedParameterJdbcTemplate;
+    private final JobExplorer jobExplorer;
+    private final List<String> preservedContextKeys;
+    private final String prefix;
+    private final LocalDateTime cutoff;
+    private final boolean archive;
+
+    private boolean archiveTablesCreated;
+    private List<Long> preservedJobExecutionIds;
+
+    public MetadataPruneTasklet(JdbcTemplate jdbcTemplate, JobExplorer jobExplorer, List<String> preservedContextKeys,
+                                String tablePrefix, LocalDateTime cutoff, int batchSize, boolean archive) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.limitedJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.limitedJdbcTemplate.setMaxRows(batchSize);
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.limitedNamedParameterJdbcTemplate = new NamedParameterJdbcTemplate(limitedJdbcTemplate);
+        this.jobExplorer = jobExplorer;
+        this.preservedContextKeys = preservedContextKeys;
+        this.prefix = tablePrefix;
+        this.cutoff = cutoff;
+        this.archive = archive;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        if (archive && !archiveTablesCreated) {
+            createArchiveTables();
+            archiveTablesCreated = true;
+        }
+        if (preservedJobExecutionIds == null) {
+            preservedJobExecutionIds = findPreservedJobExecutionIds();
+        }
+
+        List<Long> jobExecutionIds = findExpiredJobExecutionIds();
+        if (jobExecutionIds.isEmpty()) {
+            log.info("pruned {} job executions older than {}", chunkContext.getStepContext().getStepExecution().getWriteCount(), cutoff);
+            return RepeatStatus.FINISHED;
+        }
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource("ids", jobExecutionIds);
+        List<Long> jobInstanceIds = namedParameterJdbcTemplate.queryForList(
+                "SELECT DISTINCT JOB_INSTANCE_ID FROM " + prefix + "JOB_EXECUTION WHERE JOB_EXECUTION_ID IN (:ids)", parameters, Long.class);
+
+        String stepExecutionIds = "SELECT STEP_EXECUTION_ID FROM " + prefix + "STEP_EXECUTION WHERE JOB_EXECUTION_ID IN (:ids)";
+        move("STEP_EXECUTION_CONTEXT", "STEP_EXECUTION_ID IN (" + stepExecutionIds + ")", parameters);
+        move("STEP_EXECUTION", "JOB_EXECUTION_ID IN (:ids)", parameters);
+        move("JOB_EXECUTION_CONTEXT", "JOB_EXECUTION_ID IN (:ids)", parameters);
+        move("JOB_EXECUTION_PARAMS", "JOB_EXECUTION_ID IN (:ids)", parameters);
+        move("JOB_EXECUTION", "JOB_EXECUTION_ID IN (:ids)", parameters);
+        move("JOB_INSTANCE", "JOB_INSTANCE_ID IN (:instanceIds) AND NOT EXISTS (SELECT 1 FROM " + prefix + "JOB_EXECUTION E "
+                        + "WHERE E.JOB_INSTANCE_ID = " + prefix + "JOB_INSTANCE.JOB_INSTANCE_ID)",
+                new MapSqlParameterSource("instanceIds", jobInstanceIds));
+
+        contribution.incrementWriteCount(jobExecutionIds.size());
+        return RepeatStatus.CONTINUABLE;
+    }
+
+    /**
+     * 가장 오래된 실행부터 batchSize 개. 지운 실행은 다음 조회에 나오지 않으므로 따로 위치를 기억하지 않는다.
+     */
+    private List<Long> findExpiredJobExecutionIds() {
+        String sql = "SELECT E.JOB_EXECUTION_ID FROM " + prefix + "JOB_EXECUTION E "
+                + "WHERE E.END_TIME < :cutoff "
+                + "AND E.JOB_EXECUTION_ID NOT IN ("
+                + "  SELECT MAX(LE.JOB_EXECUTION_ID) FROM " + prefix + "JOB_EXECUTION LE "
+                + "  JOIN " + prefix + "JOB_INSTANCE LI ON LE.JOB_INSTANCE_ID = LI.JOB_INSTANCE_ID "
+                + "  WHERE LE.STATUS = 'COMPLETED' GROUP BY LI.JOB_NAME) "
+                + "AND E.JOB_EXECUTION_ID NOT IN (:preserved) "
+                + "ORDER BY E.JOB_EXECUTION_ID";
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("preserved", preservedJobExecutionIds);
+        return limitedNamedParameterJdbcTemplate.queryForList(sql, parameters, Long.class);
+    }
+
+    /**
+     * Job 이름마다 preservedContextKeys 를 가진 마지막 COMPLETED 실행. (NOT IN () 이 되지 않도록 없는 id -1 을 넣어둔다)
+     */
+    private List<Long> findPreservedJobExecutionIds() {
+        List<Long> ids = new ArrayList<>();
+        ids.add(-1L);
+        if (preservedContextKeys.isEmpty()) {
+            return ids;
+        }
+        for (String jobName : jobExplorer.getJobNames()) {
+            Long id = lastCompletedWithPreservedKey(jobName);
+            if (id != null) {
+                log.info("keeping job execution {} of {} : it holds one of {}", id, jobName, preservedContextKeys);
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private Long lastCompletedWithPreservedKey(String jobName) {
+        for (JobInstance jobInstance : jobExplorer.getJobInstances(jobName, 0, PRESERVED_LOOKUP_INSTANCES)) {     // 최근 순
+            for (JobExecution jobExecution : jobExplorer.getJobExecutions(jobInstance)) {
+                if (jobExecution.getStatus() == BatchStatus.COMPLETED
+                        && preservedContextKeys.stream().anyMatch(jobExecution.getExecutionContext()::containsKey)) {
+                    return jobExecution.getId();
+                }
+            }
+        }
+        return null;
+    }
+
+    private void move(String table, String condition, MapSqlParameterSource parameters) {
+        if (archive) {
+            namedParameterJdbcTemplate.update("INSERT INTO " + prefix + table + "_ARCHIVE SELECT * FROM " + prefix + table + " WHERE " + condition, parameters);
+        }
+        namedParameterJdbcTemplate.update("DELETE FROM " + prefix + table + " WHERE " + condition, parameters);
+    }
+
+    private void createArchiveTables() {
+        for (String table : ARCHIVED_TABLES) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + prefix + table + "_ARCHIVE AS SELECT * FROM " + prefix + table + " WHERE 1 = 0");
+        }
+    }
+}
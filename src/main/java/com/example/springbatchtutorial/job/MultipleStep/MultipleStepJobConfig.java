@@ -1,11 +1,13 @@
 package com.example.springbatchtutorial.job.MultipleStep;
 
+import com.example.springbatchtutorial.core.flow.DependencyFlowBuilder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.JobScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.job.flow.Flow;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
@@ -13,12 +15,15 @@ import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
 /**
  * https://docs.spring.io/spring-batch/docs/current/reference/html/index-single.html#simpleDelimitedFileReadingExample
  *
  * desc: 다중 step을 사용하기 및 step to step 데이터 전달
+ *       Step 이 ExecutionContext 에서 읽고 쓰는 키를 선언하면 DependencyFlowBuilder 가 서로 의존하지 않는 Step 을 동시에 실행한다.
+ *       multipleStep1 과 multipleStep2 는 동시에 실행되고, someKey 를 읽는 multipleStep3 은 multipleStep2 가 끝난 뒤에 실행된다.
  * run param: --job.name=multipleStepJob
  */
 @RequiredArgsConstructor
@@ -30,12 +35,17 @@ public class MultipleStepJobConfig {
     private final PlatformTransactionManager platformTransactionManager;
 
     @Bean
-    public Job multipleStepJob(Step multipleStep1, Step multipleStep2, Step multipleStep3) {
+    public Job multipleStepJob(Step multipleStep1, Step multipleStep2, Step multipleStep3, TaskExecutor parallelFlowTaskExecutor) {
+        Flow multipleStepFlow = new DependencyFlowBuilder("multipleStepFlow", parallelFlowTaskExecutor)
+                .step("multipleStep1", multipleStep1)
+                .step("multipleStep2", multipleStep2).writes("someKey")
+                .step("multipleStep3", multipleStep3).reads("someKey")
+                .build();
+
         return new JobBuilder("multipleStepJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
-                .start(multipleStep1)
-                .next(multipleStep2)
-                .next(multipleStep3)
+                .start(multipleStepFlow)
+                .end()
                 .build();
     }
 
@@ -52,6 +62,7 @@ public class MultipleStepJobConfig {
 
     /**
      * 다음 Step 단계에서 사용할 값을 넘겨주기위해서는 ExecutionContext 를 사용한다.
+     * 동시에 실행되는 Step 과 섞이지 않도록 Step 의 ExecutionContext 에 넣으면, writes 로 선언한 키는 Step 이 끝난 뒤 Job 의 ExecutionContext 로 옮겨진다.
      * @return
      */
     @Bean
@@ -64,7 +75,6 @@ public class MultipleStepJobConfig {
                     ExecutionContext executionContext = chunkContext
                             .getStepContext()
                             .getStepExecution()
-                            .getJobExecution()
                             .getExecutionContext();
 
                     executionContext.put("someKey", "hello!!");
@@ -17,6 +17,33 @@ CREATE TABLE `spring_batch`.`accounts` (
                                            PRIMARY KEY (`id`))
 ;
 
+-- 상품별 수수료율 (trMigrationJob feeRules=true)
+CREATE TABLE `spring_batch`.`order_item_fee` (
+                                                 `order_item` VARCHAR(45) NOT NULL,
+                                                 `fee_rate` DECIMAL(5, 4) NOT NULL,
+                                                 PRIMARY KEY (`order_item`))
+;
+
+-- 정산 테이블에 쓰지 못한 주문 (trMigrationJob faultTolerant=true)
+CREATE TABLE `spring_batch`.`accounts_dead_letter` (
+                                                       `id` BIGINT NOT NULL AUTO_INCREMENT,
+                                                       `order_id` INT NULL,
+                                                       `item` VARCHAR(1000) NULL,
+                                                       `error` VARCHAR(1000) NULL,
+                                                       `job_execution_id` BIGINT NULL,
+                                                       `failed_at` DATETIME NOT NULL,
+                                                       PRIMARY KEY (`id`))
+;
+
+-- 마지막으로 성공한 이관의 high-water mark (trMigrationJob readerMode=incremental, 없으면 Job 이 만든다)
+CREATE TABLE `spring_batch`.`batch_high_water_mark` (
+                                                        `job_name` VARCHAR(100) NOT NULL,
+                                                        `last_id` INT NOT NULL,
+                                                        `job_execution_id` BIGINT NULL,
+                                                        `updated_at` TIMESTAMP NOT NULL,
+                                                        PRIMARY KEY (`job_name`))
+;
+
 INSERT INTO spring_batch.orders(`order_item`, `price`, `order_date`) values ('카카오 선물', 15000, '2022-03-01');
 INSERT INTO spring_batch.orders(`order_item`, `price`, `order_date`) values ('배달주문', 18000, '2022-03-01');
 INSERT INTO spring_batch.orders(`order_item`, `price`, `order_date`) values ('교보문고', 14000, '2022-03-02');
@@ -26,6 +53,13 @@ INSERT INTO spring_batch.orders(`order_item`, `price`, `order_date`) values ('
 INSERT INTO spring_batch.orders(`order_item`, `price`, `order_date`) values ('교보문고', 13800, '2022-03-05');
 INSERT INTO spring_batch.orders(`order_item`, `price`, `order_date`) values ('카카오 선물', 5500, '2022-03-06');
 
+INSERT INTO spring_batch.order_item_fee(`order_item`, `fee_rate`) values ('카카오 선물', 0.0300);
+INSERT INTO spring_batch.order_item_fee(`order_item`, `fee_rate`) values ('배달주문', 0.0680);
+INSERT INTO spring_batch.order_item_fee(`order_item`, `fee_rate`) values ('교보문고', 0.0150);
+INSERT INTO spring_batch.order_item_fee(`order_item`, `fee_rate`) values ('아이스크림', 0.0250);
+INSERT INTO spring_batch.order_item_fee(`order_item`, `fee_rate`) values ('치킨', 0.0680);
+INSERT INTO spring_batch.order_item_fee(`order_item`, `fee_rate`) values ('커피', 0.0250);
+
 select *
 from spring_batch.orders
 ;
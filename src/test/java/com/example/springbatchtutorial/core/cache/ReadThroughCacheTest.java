@@ -0,0 +1,66 @@
+package com.example.springbatchtutorial.core.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadThroughCacheTest {
+
+    private static final Map<String, Integer> FEES = Map.of("치킨", 680, "커피", 250, "교보문고", 150);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Set<String>> loadedKeys = new ArrayList<>();
+
+    private final ReadThroughCache<String, Integer> cache = new ReadThroughCache<>("fee", 100, keys -> {
+        loadedKeys.add(keys);
+        Map<String, Integer> values = new HashMap<>();
+        keys.stream().filter(FEES::containsKey).forEach(key -> values.put(key, FEES.get(key)));
+        return values;
+    }, meterRegistry);
+
+    @Test
+    @DisplayName(value = "chunk 에서 prefetch 한 키는 첫 get() 에서 한 번에 읽고, 다음 chunk 에서는 캐시에서 꺼낸다.")
+    public void prefetchLoadsOncePerChunk() {
+        List<String> chunk = List.of("치킨", "커피", "치킨", "없는상품");
+        ChunkPrefetchListener<String, String> listener = new ChunkPrefetchListener<>(cache, item -> item);
+
+        chunk.forEach(listener::afterRead);
+        assertEquals(680, (int) cache.get("치킨"));
+        assertEquals(250, (int) cache.get("커피"));
+        assertEquals(680, (int) cache.get("치킨"));
+        assertNull(cache.get("없는상품"));
+        assertEquals(List.of(Set.of("치킨", "커피", "없는상품")), loadedKeys);
+
+        chunk.forEach(listener::afterRead);
+        chunk.forEach(cache::get);
+        assertEquals(1, loadedKeys.size());
+
+        assertEquals(3, count("prefetched"));
+        assertEquals(5, count("hit"));
+        assertEquals(0, count("miss"));
+        assertEquals(1, meterRegistry.get("spring.batch.cache.loads").counter().count());
+    }
+
+    @Test
+    @DisplayName(value = "prefetch 되지 않은 키는 그 키 하나만 읽는다.")
+    public void missLoadsSingleKey() {
+        assertEquals(150, (int) cache.get("교보문고"));
+        assertEquals(150, (int) cache.get("교보문고"));
+
+        assertEquals(List.of(Set.of("교보문고")), loadedKeys);
+        assertEquals(1, count("miss"));
+        assertEquals(1, count("hit"));
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("spring.batch.cache.lookups").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.springbatchtutorial.core.columnar;
+
+import com.example.springbatchtutorial.core.domain.accounts.Accounts;
+import com.example.springbatchtutorial.job.DbDataReadWrite.writer.AccountsColumns;
+import com.example.springbatchtutorial.job.FileDataReadWrite.dto.Player;
+import com.example.springbatchtutorial.job.FileDataReadWrite.dto.PlayerYears;
+import com.example.springbatchtutorial.job.FileDataReadWrite.writer.PlayerYearsColumns;
+import com.example.springbatchtutorial.job.FileDataReadWrite.writer.PlayerYearsLineAggregator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileItemWriter;
+import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
+import org.springframework.core.io.FileSystemResource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarItemWriterTest {
+
+    private static final String[] POSITIONS = {"qb", "rb", "wr", "te", "ol", "dl", "lb", "cb", "s", "k", "p"};
+    private static final int CHUNK_SIZE = 1_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName(value = "PlayerYears 를 컬럼 파일로 쓰고 다시 읽으면 같은 값이 나온다.")
+    public void playerYearsRoundTrip() throws Exception {
+        List<PlayerYears> players = players(20_000);
+        Path file = tempDir.resolve("players.col");
+
+        ColumnarItemWriter<PlayerYears> writer = new ColumnarItemWriter<>(file, PlayerYearsColumns.schema(), 4_096);
+        writer.setName("writer");
+        writeAll(writer, new ExecutionContext(), players);
+
+        List<PlayerYears> read = new ArrayList<>();
+        try (ColumnarFileReader reader = new ColumnarFileReader(file)) {
+            assertEquals(players.size(), reader.rowCount());
+            for (int i = 0; i < reader.rowGroupCount(); i++) {
+                ColumnarFileReader.RowGroup rowGroup = reader.readRowGroup(i);
+                for (int row = 0; row < rowGroup.rowCount(); row++) {
+                    read.add(toPlayerYears(rowGroup, row));
+                }
+            }
+        }
+        assertEquals(players, read);
+    }
+
+    @Test
+    @DisplayName(value = "Accounts 의 null 과 일시도 그대로 읽힌다.")
+    public void accountsRoundTrip() throws Exception {
+        LocalDateTime orderDate = LocalDateTime.of(2023, 10, 1, 9, 30, 15, 123_456_000);
+        List<Accounts> accounts = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            accounts.add(new Accounts(i,
+                    i % 7 == 0 ? null : "item" + (i % 13),
+                    i % 11 == 0 ? null : 1_000 + i,
+                    orderDate.plusSeconds(i * 37L),
+                    i % 5 == 0 ? null : orderDate.plusDays(1)));
+        }
+        Path file = tempDir.resolve("accounts.col");
+
+        ColumnarItemWriter<Accounts> writer = new ColumnarItemWriter<>(file, AccountsColumns.schema(), 65_536);
+        writer.setName("writer");
+        writeAll(writer, new ExecutionContext(), accounts);
+
+        int index = 0;
+        try (ColumnarFileReader reader = new ColumnarFileReader(file)) {
+            for (int i = 0; i < reader.rowGroupCount(); i++) {
+                ColumnarFileReader.RowGroup rowGroup = reader.readRowGroup(i);
+                for (int row = 0; row < rowGroup.rowCount(); row++, index++) {
+                    Accounts expected = accounts.get(index);
+                    assertEquals((int) expected.getId(), rowGroup.ints("id")[row]);
+                    assertEquals(expected.getOrderItem(), rowGroup.strings("orderItem")[row]);
+                    assertEquals(expected.getPrice(), rowGroup.isNull("price", row) ? null : rowGroup.ints("price")[row]);
+                    assertEquals(expected.getOrderDate(), rowGroup.timestamps("orderDate")[row]);
+                    assertEquals(expected.getAccountDate(), rowGroup.timestamps("accountDate")[row]);
+                }
+            }
+        }
+        assertEquals(accounts.size(), index);
+    }
+
+    @Test
+    @DisplayName(value = "재시작하면 commit 되지 않은 row 를 버리고 commit 된 위치부터 이어서 쓴다.")
+    public void restartFromCommittedOffset() throws Exception {
+        List<PlayerYears> players = players(10_000);
+        Path file = tempDir.resolve("players.col");
+        ExecutionContext executionContext = new ExecutionContext();
+
+        ColumnarItemWriter<PlayerYears> failed = new ColumnarItemWriter<>(file, PlayerYearsColumns.schema(), 65_536);
+        failed.setName("writer");
+        failed.open(executionContext);
+        for (int i = 0; i < 6_000; i += CHUNK_SIZE) {
+            failed.write(new Chunk<>(players.subList(i, i + CHUNK_SIZE)));
+            failed.update(executionContext);
+        }
+        failed.write(new Chunk<>(players.subList(6_000, 7_000)));      // commit 되지 않은 chunk
+        failed.close();
+
+        ColumnarItemWriter<PlayerYears> restarted = new ColumnarItemWriter<>(file, PlayerYearsColumns.schema(), 65_536);
+        restarted.setName("writer");
+        restarted.open(executionContext);
+        for (int i = 6_000; i < players.size(); i += CHUNK_SIZE) {
+            restarted.write(new Chunk<>(players.subList(i, i + CHUNK_SIZE)));
+            restarted.update(executionContext);
+        }
+        restarted.close();
+
+        try (ColumnarFileReader reader = new ColumnarFileReader(file)) {
+            assertEquals(players.size(), reader.rowCount());
+            int index = 0;
+            for (int i = 0; i < reader.rowGroupCount(); i++) {
+                String[] ids = reader.readRowGroup(i, "ID").strings("ID");
+                for (String id : ids) {
+                    assertEquals(players.get(index++).getID(), id);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName(value = "같은 PlayerYears 를 CSV 로 쓸 때보다 파일이 작다.")
+    public void smallerThanCsv() throws Exception {
+        List<PlayerYears> players = players(100_000);
+        Path columnarFile = tempDir.resolve("players.col");
+        Path csvFile = tempDir.resolve("players.txt");
+
+        ColumnarItemWriter<PlayerYears> columnarWriter = new ColumnarItemWriter<>(columnarFile, PlayerYearsColumns.schema(), 65_536);
+        columnarWriter.setName("columnarWriter");
+        writeAll(columnarWriter, new ExecutionContext(), players);
+
+        FlatFileItemWriter<PlayerYears> csvWriter = new FlatFileItemWriterBuilder<PlayerYears>()
+                .name("csvWriter")
+                .resource(new FileSystemResource(csvFile))
+                .lineAggregator(new PlayerYearsLineAggregator())
+                .build();
+        writeAll(csvWriter, players);
+
+        long columnarSize = Files.size(columnarFile);
+        long csvSize = Files.size(csvFile);
+        // 컬럼 파일은 7 개 필드를 모두 담고, CSV 는 4 개 필드만 담는데도 절반보다 작다.
+        assertTrue(columnarSize * 2 < csvSize, "columnar " + columnarSize + " / csv " + csvSize);
+    }
+
+    private static <T> void writeAll(ColumnarItemWriter<T> writer, ExecutionContext executionContext, List<T> items) throws Exception {
+        writer.open(executionContext);
+        for (int i = 0; i < items.size(); i += CHUNK_SIZE) {
+            writer.write(new Chunk<>(items.subList(i, Math.min(i + CHUNK_SIZE, items.size()))));
+            writer.update(executionContext);
+        }
+        writer.close();
+    }
+
+    private static void writeAll(FlatFileItemWriter<PlayerYears> writer, List<PlayerYears> items) throws Exception {
+        ExecutionContext executionContext = new ExecutionContext();
+        writer.open(executionContext);
+        for (int i = 0; i < items.size(); i += CHUNK_SIZE) {
+            writer.write(new Chunk<>(items.subList(i, Math.min(i + CHUNK_SIZE, items.size()))));
+            writer.update(executionContext);
+        }
+        writer.close();
+    }
+
+    private static List<PlayerYears> players(int count) {
+        Random random = new Random(42);
+        List<PlayerYears> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Player player = new Player();
+            String lastName = "Last" + (char) ('A' + random.nextInt(26)) + random.nextInt(5_000);
+            String firstName = "First" + random.nextInt(300);
+            player.setID(lastName.substring(0, 4) + firstName.substring(0, 2) + String.format("%02d", i % 100));
+            player.setLastName(lastName);
+            player.setFirstName(firstName);
+            player.setPosition(POSITIONS[random.nextInt(POSITIONS.length)]);
+            player.setBirthYear(1940 + random.nextInt(60));
+            player.setDebutYear(player.getBirthYear() + 21 + random.nextInt(4));
+            players.add(new PlayerYears(player, 2023));
+        }
+        return players;
+    }
+
+    private static PlayerYears toPlayerYears(ColumnarFileReader.RowGroup rowGroup, int row) {
+        Player player = new Player();
+        player.setID(rowGroup.strings("ID")[row]);
+        player.setLastName(rowGroup.strings("lastName")[row]);
+        player.setFirstName(rowGroup.strings("firstName")[row]);
+        player.setPosition(rowGroup.strings("position")[row]);
+        player.setBirthYear(rowGroup.ints("birthYear")[row]);
+        player.setDebutYear(rowGroup.ints("debutYear")[row]);
+        PlayerYears playerYears = new PlayerYears(player, 2023);
+        playerYears.setYearsExperience(rowGroup.ints("yearsExperience")[row]);
+        return playerYears;
+    }
+
+}
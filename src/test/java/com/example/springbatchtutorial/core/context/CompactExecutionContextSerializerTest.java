@@ -0,0 +1,95 @@
+package com.example.springbatchtutorial.core.context;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.repository.ExecutionContextSerializer;
+import org.springframework.batch.core.repository.dao.DefaultExecutionContextSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactExecutionContextSerializerTest {
+
+    @Test
+    @DisplayName(value = "태그로 쓰는 타입과 Java 직렬화로 쓰는 타입이 모두 같은 값과 같은 클래스로 읽힌다.")
+    public void roundTrip() throws Exception {
+        LinkedHashMap<String, Object> ordered = new LinkedHashMap<>();
+        ordered.put("b", 2L);
+        ordered.put("a", List.of(1, 2));
+        Map<String, Object> context = new HashMap<>();
+        context.put("string", "주문");
+        context.put("int", 7);
+        context.put("long", Long.MAX_VALUE);
+        context.put("double", 1.5);
+        context.put("boolean", true);
+        context.put("null", null);
+        context.put("hashMap", new HashMap<>(Map.of("x", 1)));
+        context.put("linkedHashMap", ordered);
+        context.put("arrayList", new ArrayList<>(List.of("a", 1L)));
+        context.put("bigDecimal", new BigDecimal("12.30"));
+        context.put("date", LocalDate.of(2023, 10, 1));
+
+        Map<String, Object> read = roundTrip(new CompactExecutionContextSerializer(-1), context);
+
+        assertEquals(context, read);
+        assertEquals(LinkedHashMap.class, read.get("linkedHashMap").getClass());
+        assertEquals(List.of("b", "a"), new ArrayList<>(((Map<?, ?>) read.get("linkedHashMap")).keySet()));
+        assertEquals(ArrayList.class, read.get("arrayList").getClass());
+        assertEquals(new BigDecimal("12.30"), read.get("bigDecimal"));
+    }
+
+    @Test
+    @DisplayName(value = "byte[] 값은 내용이 그대로 읽힌다.")
+    public void bytesRoundTrip() throws Exception {
+        Map<String, Object> read = roundTrip(new CompactExecutionContextSerializer(-1), Map.of("bytes", new byte[]{1, 2, 3}));
+
+        assertArrayEquals(new byte[]{1, 2, 3}, (byte[]) read.get("bytes"));
+    }
+
+    @Test
+    @DisplayName(value = "compression-threshold 보다 큰 context 는 압축해서 저장하고 다시 읽을 수 있다.")
+    public void deflatesLargeContext() throws Exception {
+        Map<String, Object> context = new HashMap<>();
+        for (int i = 0; i < 1_000; i++) {
+            context.put("partition" + i + ".lastId", (long) i);
+        }
+
+        byte[] compressed = serialize(new CompactExecutionContextSerializer(1024), context);
+        byte[] plain = serialize(new CompactExecutionContextSerializer(-1), context);
+
+        assertTrue(compressed.length < plain.length);
+        assertEquals(1, Base64.getDecoder().decode(compressed)[3] & 1);
+        assertEquals(0, Base64.getDecoder().decode(plain)[3] & 1);
+        assertEquals(context, new CompactExecutionContextSerializer(1024).deserialize(new ByteArrayInputStream(compressed)));
+    }
+
+    @Test
+    @DisplayName(value = "이전 형식(DefaultExecutionContextSerializer) 으로 저장된 context 도 읽는다.")
+    public void readsLegacyFormat() throws Exception {
+        Map<String, Object> context = new HashMap<>(Map.of("trOrdersReader.lastId", 42L, "name", "orders"));
+
+        byte[] legacy = serialize(new DefaultExecutionContextSerializer(), context);
+
+        assertEquals(context, new CompactExecutionContextSerializer().deserialize(new ByteArrayInputStream(legacy)));
+    }
+
+    private static Map<String, Object> roundTrip(CompactExecutionContextSerializer serializer, Map<String, Object> context) throws Exception {
+        return serializer.deserialize(new ByteArrayInputStream(serialize(serializer, context)));
+    }
+
+    private static byte[] serialize(ExecutionContextSerializer serializer, Map<String, Object> context) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.serialize(context, out);
+        return out.toByteArray();
+    }
+}
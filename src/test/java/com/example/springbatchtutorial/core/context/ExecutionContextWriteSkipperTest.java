@@ -0,0 +1,87 @@
+package com.example.springbatchtutorial.core.context;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ExecutionContextWriteSkipperTest {
+
+    private final JobRepository target = mock(JobRepository.class);
+    private final JobRepository jobRepository =
+            (JobRepository) new ExecutionContextWriteSkipper().postProcessAfterInitialization(target, "jobRepository");
+
+    @Test
+    @DisplayName(value = "바뀌지 않은 context 는 다시 저장하지 않는다.")
+    public void skipsUnchangedContext() {
+        StepExecution stepExecution = stepExecution(1L);
+        stepExecution.getExecutionContext().putLong("reader.read.count", 5L);
+
+        jobRepository.updateExecutionContext(stepExecution);
+        jobRepository.updateExecutionContext(stepExecution);
+
+        verify(target, times(1)).updateExecutionContext(stepExecution);
+    }
+
+    @Test
+    @DisplayName(value = "앞의 put 이 값을 바꾸고 뒤의 put 이 같은 값이어도 (dirty=false) 저장한다.")
+    public void writesWhenEarlierPutChangedValue() {
+        StepExecution stepExecution = stepExecution(1L);
+        stepExecution.getExecutionContext().putLong("reader.read.count", 5L);
+        stepExecution.getExecutionContext().putString("reader.name", "orders");
+        jobRepository.updateExecutionContext(stepExecution);
+
+        stepExecution.getExecutionContext().putLong("reader.read.count", 10L);
+        stepExecution.getExecutionContext().putString("reader.name", "orders");
+        assertFalse(stepExecution.getExecutionContext().isDirty());
+        jobRepository.updateExecutionContext(stepExecution);
+
+        verify(target, times(2)).updateExecutionContext(stepExecution);
+    }
+
+    @Test
+    @DisplayName(value = "저장하는 동안 다른 쓰레드가 put 한 값은 다음 호출에서 저장한다.")
+    public void writesPutDuringUpdate() {
+        JobExecution jobExecution = new JobExecution(1L);
+        jobExecution.getExecutionContext().putString("someKey", "a");
+        doAnswer(invocation -> {
+            jobExecution.getExecutionContext().putString("someKey", "b");
+            return null;
+        }).doNothing().when(target).updateExecutionContext(jobExecution);
+
+        jobRepository.updateExecutionContext(jobExecution);
+        jobRepository.updateExecutionContext(jobExecution);
+        jobRepository.updateExecutionContext(jobExecution);
+
+        verify(target, times(2)).updateExecutionContext(jobExecution);
+    }
+
+    @Test
+    @DisplayName(value = "Execution 마다 따로 비교하고, 끝난 Execution 의 기록은 지운다.")
+    public void tracksEachExecution() {
+        StepExecution first = stepExecution(1L);
+        StepExecution second = stepExecution(2L);
+        first.getExecutionContext().putLong("lastId", 100L);
+        second.getExecutionContext().putLong("lastId", 100L);
+
+        jobRepository.updateExecutionContext(first);
+        jobRepository.updateExecutionContext(second);
+        first.setStatus(BatchStatus.COMPLETED);
+        jobRepository.update(first);
+        jobRepository.updateExecutionContext(first);
+
+        verify(target, times(2)).updateExecutionContext(first);
+        verify(target, times(1)).updateExecutionContext(second);
+    }
+
+    private static StepExecution stepExecution(long id) {
+        StepExecution stepExecution = new StepExecution("step", new JobExecution(1L), id);
+        stepExecution.setStatus(BatchStatus.STARTED);
+        return stepExecution;
+    }
+}
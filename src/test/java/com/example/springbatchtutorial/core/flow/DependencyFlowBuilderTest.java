@@ -0,0 +1,127 @@
+package com.example.springbatchtutorial.core.flow;
+
+import com.example.springbatchtutorial.job.SpringBatchTestConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@Sql({"classpath:org/springframework/batch/core/schema-drop-h2.sql", "classpath:org/springframework/batch/core/schema-h2.sql"})    // @EnableBatchProcessing 은 Boot 의 메타데이터 테이블 초기화를 끈다.
+@SpringBootTest(classes = {SpringBatchTestConfig.class})
+class DependencyFlowBuilderTest {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JobLauncher jobLauncher;
+
+    private final SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("dependency-flow-test-");
+
+    @Test
+    @DisplayName(value = "Step 은 자신이 의존하는 Step 이 끝나면 바로 실행되고, 의존하지 않는 Step 이 끝나기를 기다리지 않는다.")
+    public void runsStepAsSoonAsPredecessorsFinish() throws Exception {
+        CountDownLatch readerFinished = new CountDownLatch(1);
+        AtomicReference<Object> read = new AtomicReference<>();
+
+        // slowStep 은 readerStep 이 끝나야 끝난다. readerStep 이 slowStep 까지 기다리면 시간 안에 끝나지 못하고 FAILED 가 된다.
+        Step slowStep = step("slowStep", (contribution, chunkContext) -> {
+            if (!readerFinished.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("readerStep 이 slowStep 을 기다렸습니다.");
+            }
+            return RepeatStatus.FINISHED;
+        });
+        Step writerStep = step("writerStep", (contribution, chunkContext) -> {
+            contribution.getStepExecution().getExecutionContext().put("someKey", "hello!!");
+            return RepeatStatus.FINISHED;
+        });
+        Step readerStep = step("readerStep", (contribution, chunkContext) -> {
+            read.set(contribution.getStepExecution().getJobExecution().getExecutionContext().get("someKey"));
+            readerFinished.countDown();
+            return RepeatStatus.FINISHED;
+        });
+
+        JobExecution jobExecution = run(new DependencyFlowBuilder("dependencyFlow", taskExecutor)
+                .step("slowStep", slowStep)
+                .step("writerStep", writerStep).writes("someKey")
+                .step("readerStep", readerStep).reads("someKey")
+                .build());
+
+        assertEquals(BatchStatus.COMPLETED, jobExecution.getStatus());
+        assertEquals("hello!!", read.get());
+        assertEquals("hello!!", jobExecution.getExecutionContext().get("someKey"));
+    }
+
+    @Test
+    @DisplayName(value = "Step 이 실패하면 새 Step 은 시작하지 않고, 실행 중인 Step 이 끝난 뒤 FAILED 로 끝난다.")
+    public void stopsSchedulingAfterFailure() throws Exception {
+        CountDownLatch writerFailed = new CountDownLatch(1);
+
+        Step slowStep = step("slowStep", (contribution, chunkContext) -> {
+            writerFailed.await(5, TimeUnit.SECONDS);
+            return RepeatStatus.FINISHED;
+        });
+        Step writerStep = step("writerStep", (contribution, chunkContext) -> {
+            writerFailed.countDown();
+            throw new IllegalStateException("writerStep 실패");
+        });
+        Step readerStep = step("readerStep", (contribution, chunkContext) -> RepeatStatus.FINISHED);
+
+        JobExecution jobExecution = run(new DependencyFlowBuilder("dependencyFlow", taskExecutor)
+                .step("slowStep", slowStep)
+                .step("writerStep", writerStep).writes("someKey")
+                .step("readerStep", readerStep).reads("someKey")
+                .build());
+
+        assertEquals(BatchStatus.FAILED, jobExecution.getStatus());
+        Map<String, BatchStatus> statuses = jobExecution.getStepExecutions().stream()
+                .collect(Collectors.toMap(StepExecution::getStepName, StepExecution::getStatus));
+        assertEquals(Map.of("slowStep", BatchStatus.COMPLETED, "writerStep", BatchStatus.FAILED), statuses);
+    }
+
+    private JobExecution run(Flow flow) throws Exception {
+        Job job = new JobBuilder("dependencyFlowTestJob", jobRepository)
+                .start(flow)
+                .end()
+                .build();
+        return jobLauncher.run(job, new JobParametersBuilder()
+                .addLong("run.id", System.nanoTime())
+                .toJobParameters());
+    }
+
+    private Step step(String name, Tasklet tasklet) {
+        return new StepBuilder(name, jobRepository)
+                .tasklet(tasklet, transactionManager)
+                .build();
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.example.springbatchtutorial.core.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InMemoryJobRepositoryPostProcessorTest {
+
+    private static final JobRepository JOB_REPOSITORY = mock(JobRepository.class);
+
+    @Test
+    @DisplayName(value = "명시한 Job 의 Step 이 singleton 이면 애플리케이션을 시작하지 않는다.")
+    public void rejectsSingletonStep() {
+        BeanCreationException e = assertThrows(BeanCreationException.class,
+                () -> new AnnotationConfigApplicationContext(SingletonStepConfig.class));
+
+        assertInstanceOf(IllegalStateException.class, e.getMostSpecificCause());
+        assertTrue(e.getMostSpecificCause().getMessage().contains("singletonStep"));
+    }
+
+    @Test
+    @DisplayName(value = "명시한 Job 의 Step 이 모두 @JobScope 면 그대로 시작한다.")
+    public void acceptsJobScopedStep() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(JobScopedStepConfig.class)) {
+            assertNotNull(context.getBean("listedJob"));
+        }
+    }
+
+    @Test
+    @DisplayName(value = "명시하지 않은 Job 은 singleton Step 이어도 확인하지 않는다.")
+    public void ignoresUnlistedJob() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(UnlistedJobConfig.class)) {
+            assertNotNull(context.getBean("listedJob"));
+        }
+    }
+
+    private static Step step(String name) {
+        return new StepBuilder(name, JOB_REPOSITORY)
+                .tasklet((contribution, chunkContext) -> RepeatStatus.FINISHED, new ResourcelessTransactionManager())
+                .build();
+    }
+
+    private static Job job(Step step) {
+        return new JobBuilder("listedJob", JOB_REPOSITORY)
+                .start(step)
+                .build();
+    }
+
+    @Configuration
+    static class SingletonStepConfig {
+
+        @Bean
+        public static InMemoryJobRepositoryPostProcessor inMemoryJobRepositoryPostProcessor() {
+            return new InMemoryJobRepositoryPostProcessor(Set.of("listedJob"));
+        }
+
+        @Bean
+        public Step singletonStep() {
+            return step("singletonStep");
+        }
+
+        @Bean
+        public Job listedJob(Step singletonStep) {
+            return job(singletonStep);
+        }
+    }
+
+    @Configuration
+    static class JobScopedStepConfig {
+
+        @Bean
+        public static InMemoryJobRepositoryPostProcessor inMemoryJobRepositoryPostProcessor() {
+            return new InMemoryJobRepositoryPostProcessor(Set.of("listedJob"));
+        }
+
+        @Bean
+        @JobScope
+        public Step jobScopedStep() {
+            return step("jobScopedStep");
+        }
+
+        /**
+         * Job 이 실행되기 전에는 scoped proxy 만 만들어지므로 'job' scope 를 등록하지 않아도 된다.
+         * @return
+         */
+        @Bean
+        public Job listedJob(Step jobScopedStep) {
+            return job(jobScopedStep);
+        }
+    }
+
+    @Configuration
+    static class UnlistedJobConfig {
+
+        @Bean
+        public static InMemoryJobRepositoryPostProcessor inMemoryJobRepositoryPostProcessor() {
+            return new InMemoryJobRepositoryPostProcessor(Set.of("otherJob"));
+        }
+
+        @Bean
+        public Step singletonStep() {
+            return step("singletonStep");
+        }
+
+        @Bean
+        public Job listedJob(Step singletonStep) {
+            return job(singletonStep);
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.example.springbatchtutorial.core.scheduler;
+
+import com.example.springbatchtutorial.core.scheduler.BatchSchedulerProperties.ScheduledJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BatchJobSchedulerTest {
+
+    private static final String NEVER = "0 0 0 1 1 *";      // 테스트 중에는 cron 이 발생하지 않도록 1년에 한 번
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+
+    private final BlockingQueue<String> started = new LinkedBlockingQueue<>();
+    private final Semaphore release = new Semaphore(0);
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    private final JobLauncher jobLauncher = (job, jobParameters) -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        started.add(job.getName());
+        try {
+            release.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running.decrementAndGet();
+        }
+        JobExecution jobExecution = new JobExecution(1L);
+        jobExecution.setStatus(BatchStatus.COMPLETED);
+        return jobExecution;
+    };
+
+    private BatchJobScheduler scheduler;
+
+    @AfterEach
+    public void tearDown() {
+        release.release(100);
+        if (scheduler != null) {
+            scheduler.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName(value = "skip : 앞의 실행이 끝나지 않았으면 이번 스케쥴은 건너뛴다.")
+    public void skipPolicy() throws Exception {
+        ScheduledJob job = scheduledJob("skipJob", OverlapPolicy.SKIP);
+        start(4, job);
+
+        scheduler.trigger(job, Instant.now());
+        assertStarted("skipJob");
+        scheduler.trigger(job, Instant.now());
+        scheduler.trigger(job, Instant.now());
+
+        assertEquals(1, triggerCount("skipJob", "queued"));
+        assertEquals(2, triggerCount("skipJob", "skipped"));
+        release.release();
+        assertNull(started.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName(value = "queue : 밀린 스케쥴을 모두 큐에 넣고 앞의 실행이 끝나면 하나씩 실행한다.")
+    public void queuePolicy() throws Exception {
+        ScheduledJob job = scheduledJob("queueJob", OverlapPolicy.QUEUE);
+        start(4, job);
+
+        scheduler.trigger(job, Instant.now());
+        assertStarted("queueJob");
+        scheduler.trigger(job, Instant.now());
+        scheduler.trigger(job, Instant.now());
+        assertEquals(3, triggerCount("queueJob", "queued"));
+        assertEquals(2, meterRegistry.get("spring.batch.scheduler.queue.size").gauge().value());
+
+        release.release();
+        assertStarted("queueJob");
+        release.release();
+        assertStarted("queueJob");
+        release.release();
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    @DisplayName(value = "coalesce : 대기 중인 실행이 있으면 이번 스케쥴은 그 실행에 합친다.")
+    public void coalescePolicy() throws Exception {
+        ScheduledJob job = scheduledJob("coalesceJob", OverlapPolicy.COALESCE);
+        start(4, job);
+
+        scheduler.trigger(job, Instant.now());
+        assertStarted("coalesceJob");
+        scheduler.trigger(job, Instant.now());
+        scheduler.trigger(job, Instant.now());
+        scheduler.trigger(job, Instant.now());
+        assertEquals(2, triggerCount("coalesceJob", "queued"));
+        assertEquals(2, triggerCount("coalesceJob", "coalesced"));
+
+        release.release();
+        assertStarted("coalesceJob");
+        release.release();
+        assertNull(started.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName(value = "max-concurrent-jobs 를 넘는 실행은 다른 Job 이 끝날 때까지 기다린다.")
+    public void globalLimit() throws Exception {
+        ScheduledJob first = scheduledJob("firstJob", OverlapPolicy.QUEUE);
+        ScheduledJob second = scheduledJob("secondJob", OverlapPolicy.QUEUE);
+        ScheduledJob third = scheduledJob("thirdJob", OverlapPolicy.QUEUE);
+        start(2, first, second, third);
+
+        scheduler.trigger(first, Instant.now());
+        scheduler.trigger(second, Instant.now());
+        scheduler.trigger(third, Instant.now());
+        assertEquals(Set.of("firstJob", "secondJob"),
+                Set.of(started.poll(5, TimeUnit.SECONDS), started.poll(5, TimeUnit.SECONDS)));
+        assertNull(started.poll(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, meterRegistry.get("spring.batch.scheduler.queue.size").gauge().value());
+
+        release.release();
+        assertStarted("thirdJob");
+        assertEquals(2, maxRunning.get());
+    }
+
+    private void start(int maxConcurrentJobs, ScheduledJob... jobs) {
+        for (ScheduledJob job : jobs) {
+            Job bean = mock(Job.class);
+            when(bean.getName()).thenReturn(job.jobName());
+            beanFactory.addBean(job.jobName(), bean);
+        }
+        scheduler = new BatchJobScheduler(new BatchSchedulerProperties(maxConcurrentJobs, List.of(jobs)),
+                beanFactory, jobLauncher, meterRegistry);
+        scheduler.afterPropertiesSet();
+    }
+
+    private void assertStarted(String jobName) throws InterruptedException {
+        assertEquals(jobName, started.poll(5, TimeUnit.SECONDS));
+    }
+
+    private double triggerCount(String jobName, String outcome) {
+        return meterRegistry.counter("spring.batch.scheduler.trigger", "job", jobName, "outcome", outcome).count();
+    }
+
+    private static ScheduledJob scheduledJob(String jobName, OverlapPolicy policy) {
+        return new ScheduledJob(jobName, NEVER, policy, 1, Map.of());
+    }
+}
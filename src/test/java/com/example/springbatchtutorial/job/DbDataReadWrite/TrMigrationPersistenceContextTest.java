@@ -0,0 +1,183 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite;
+
+import com.example.springbatchtutorial.core.domain.accounts.Accounts;
+import com.example.springbatchtutorial.core.domain.accounts.AccountsRepository;
+import com.example.springbatchtutorial.core.domain.orders.Orders;
+import com.example.springbatchtutorial.job.DbDataReadWrite.reader.OrdersStatelessItemReader;
+import com.example.springbatchtutorial.job.DbDataReadWrite.writer.PersistenceContextClearingItemWriter;
+import com.example.springbatchtutorial.job.SpringBatchTestConfig;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.data.builder.RepositoryItemWriterBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * readerMode=stateless, writerMode=jpa_clear 로 10 만 건을 옮겨도 영속성 컨텍스트(1차 캐시) 가 chunk 크기만큼 커지지 않는지 확인한다.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = {SpringBatchTestConfig.class, TrMigrationPersistenceContextTest.JpaConfig.class})
+class TrMigrationPersistenceContextTest {
+
+    private static final int ITEM_COUNT = 100_000;
+    private static final int CHUNK_SIZE = 1_000;
+
+    @Configuration
+    @EntityScan("com.example.springbatchtutorial.core.domain")
+    @EnableJpaRepositories("com.example.springbatchtutorial.core.domain")
+    static class JpaConfig {
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AccountsRepository accountsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * trMigrationJob 과 같은 설정으로 fetchSize 를 정한다. (test 프로필에서는 기본값)
+     */
+    @Value("${batch.tr-migration.fetch-size:" + TrMigrationConfig.DEFAULT_FETCH_SIZE + "}")
+    private int fetchSize;
+
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        Timestamp orderDate = Timestamp.valueOf(LocalDateTime.of(2023, 1, 1, 0, 0));
+        List<Object[]> rows = IntStream.rangeClosed(1, ITEM_COUNT)
+                .mapToObj(id -> new Object[]{id, "item-" + id, id % 10_000, orderDate})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO orders (id, order_item, price, order_date) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    /**
+     * Accounts 의 id 는 IDENTITY 라서 save() (merge) 는 주문 id 로 accounts 를 찾고, 없으면 IDENTITY 로 새 id 를 받는다.
+     * 다른 테스트가 IDENTITY 를 올려둔 채로 끝나면 새 id 가 다음 chunk 의 주문 id 와 겹쳐서, 다음 chunk 가 insert 대신 그 row 를 update 한다.
+     * (reader 는 10 만 건을 모두 읽지만 accounts 는 한 chunk 만큼 적어진다) 그래서 테스트마다 IDENTITY 를 처음으로 되돌린다.
+     */
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM accounts");
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.execute("ALTER TABLE accounts ALTER COLUMN id RESTART WITH 1");
+    }
+
+    @Test
+    @DisplayName(value = "StatelessSession 으로 읽고 chunk 마다 flush + clear 하면 10 만 건을 옮겨도 1차 캐시에 남는 엔티티가 없다.")
+    public void persistenceContextStaysBounded() throws Exception {
+        OrdersStatelessItemReader reader = new OrdersStatelessItemReader(entityManagerFactory.unwrap(SessionFactory.class), fetchSize);
+        ItemWriter<Accounts> writer = new PersistenceContextClearingItemWriter<>(accountsWriter(), entityManager);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        reader.open(new ExecutionContext());
+        int maxEntityCount = 0;
+        int readCount = 0;
+        try {
+            while (true) {
+                int[] counts = transactionTemplate.execute(status -> {
+                    List<Accounts> items = new ArrayList<>(CHUNK_SIZE);
+                    Orders orders;
+                    while (items.size() < CHUNK_SIZE && (orders = read(reader)) != null) {
+                        assertFalse(entityManager.contains(orders));     // StatelessSession 이 읽은 엔티티는 어떤 영속성 컨텍스트에도 붙지 않는다.
+                        items.add(new Accounts(orders));
+                    }
+                    if (items.isEmpty()) {
+                        return null;
+                    }
+                    write(writer, items);
+                    return new int[]{items.size(), entityCount()};
+                });
+                if (counts == null) {
+                    break;
+                }
+                readCount += counts[0];
+                maxEntityCount = Math.max(maxEntityCount, counts[1]);
+            }
+        } finally {
+            reader.close();
+        }
+
+        assertEquals(ITEM_COUNT, readCount);
+        assertEquals(ITEM_COUNT, accountsRepository.count());
+        assertEquals(ITEM_COUNT, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts a JOIN orders o ON a.id = o.id "
+                + "AND a.order_item = o.order_item", Integer.class));      // 주문마다 같은 id 의 accounts 가 하나씩
+        assertEquals(0, maxEntityCount);
+    }
+
+    @Test
+    @DisplayName(value = "비우지 않는 RepositoryItemWriter 는 커밋 전까지 chunk 크기만큼 엔티티를 1차 캐시에 들고 있다.")
+    public void repositoryItemWriterKeepsChunkInPersistenceContext() {
+        List<Accounts> items = IntStream.rangeClosed(1, CHUNK_SIZE)
+                .mapToObj(id -> new Accounts(new Orders(id, "item-" + id, id, LocalDateTime.now())))
+                .toList();
+
+        Integer entityCount = new TransactionTemplate(transactionManager).execute(status -> {
+            write(accountsWriter(), items);
+            return entityCount();
+        });
+
+        assertEquals(CHUNK_SIZE, entityCount);
+    }
+
+    private ItemWriter<Accounts> accountsWriter() {
+        return new RepositoryItemWriterBuilder<Accounts>()
+                .repository(accountsRepository)
+                .methodName("save")
+                .build();
+    }
+
+    private int entityCount() {
+        return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+    }
+
+    private static Orders read(OrdersStatelessItemReader reader) {
+        try {
+            return reader.read();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void write(ItemWriter<Accounts> writer, List<Accounts> items) {
+        try {
+            writer.write(new Chunk<>(items));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite;
+
+import com.example.springbatchtutorial.core.chunk.ChunkProperties;
+import com.example.springbatchtutorial.job.SpringBatchTestConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * manager 와 worker 를 한 JVM 에 띄워서 embedded Artemis 브로커와 H2 로 원격 파티셔닝 Job 을 끝까지 실행한다.
+ * worker 가 다른 JVM 에 있을 때와 같이 파티션 요청은 JMS 큐를 거치고, 결과는 공유 JobRepository 로 확인한다.
+ */
+@ActiveProfiles({"test", "remote-manager", "remote-worker"})
+@SpringBootTest(classes = {SpringBatchTestConfig.class, TrMigrationRemotePartitionJobTest.RemotePartitionConfig.class},
+        properties = {
+                "spring.artemis.mode=embedded",             // remote-worker 프로필의 native 대신 manager 의 embedded 브로커에 in-vm 으로 붙는다.
+                "batch.remote-partition.broker-port=0",
+                "batch.remote-partition.poll-interval=100",
+                "batch.remote-partition.timeout=60000"
+        })
+@Sql({"classpath:org/springframework/batch/core/schema-drop-h2.sql", "classpath:org/springframework/batch/core/schema-h2.sql"})
+class TrMigrationRemotePartitionJobTest {
+
+    private static final int ITEM_COUNT = 1_000;
+    private static final int GRID_SIZE = 4;
+    private static final int CHUNK_SIZE = 100;
+
+    @Configuration
+    @EntityScan("com.example.springbatchtutorial.core.domain")
+    @EnableJpaRepositories("com.example.springbatchtutorial.core.domain")
+    @EnableConfigurationProperties(ChunkProperties.class)
+    @Import({TrMigrationConfig.class, TrMigrationPartitionConfig.class,
+            TrMigrationRemoteManagerConfig.class, TrMigrationRemoteWorkerConfig.class})
+    static class RemotePartitionConfig {
+    }
+
+    @Autowired
+    private JobLauncher jobLauncher;
+
+    @Autowired
+    private Job trMigrationRemotePartitionJob;
+
+    @Autowired
+    private JobExplorer jobExplorer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Timestamp orderDate = Timestamp.valueOf(LocalDateTime.of(2023, 1, 1, 0, 0));
+        List<Object[]> rows = IntStream.rangeClosed(1, ITEM_COUNT)
+                .mapToObj(id -> new Object[]{id, "item-" + id, id, orderDate})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO orders (id, order_item, price, order_date) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM accounts");
+        jdbcTemplate.update("DELETE FROM orders");
+    }
+
+    @Test
+    @DisplayName(value = "worker 가 JMS 큐에서 파티션을 받아 실행하고, Job 파라미터의 chunkSize 만큼씩 commit 한다.")
+    public void workerRunsPartitionsWithJobChunkSize() throws Exception {
+        JobExecution jobExecution = jobLauncher.run(trMigrationRemotePartitionJob, new JobParametersBuilder()
+                .addLong("gridSize", (long) GRID_SIZE)
+                .addLong("chunkSize", (long) CHUNK_SIZE)
+                .addString("writerMode", "jdbc")
+                .toJobParameters());
+
+        assertEquals(BatchStatus.COMPLETED, jobExecution.getStatus());
+        assertEquals(ITEM_COUNT, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts", Integer.class));
+
+        // worker 가 기록한 파티션의 결과는 manager 의 JobExecution 이 아닌 JobRepository 에 있다.
+        List<StepExecution> partitions = jobExplorer.getJobExecution(jobExecution.getId()).getStepExecutions().stream()
+                .filter(stepExecution -> stepExecution.getStepName().startsWith("trMigrationRemoteWorkerStep:"))
+                .toList();
+        assertEquals(GRID_SIZE, partitions.size());
+        for (StepExecution partition : partitions) {
+            int itemCount = ITEM_COUNT / GRID_SIZE;
+            assertEquals(BatchStatus.COMPLETED, partition.getStatus());
+            assertEquals(itemCount, partition.getWriteCount());
+            assertEquals(itemCount / CHUNK_SIZE + 1, partition.getCommitCount());     // 100, 100, 50 (batch.chunk.size 였다면 50 번)
+        }
+    }
+
+}
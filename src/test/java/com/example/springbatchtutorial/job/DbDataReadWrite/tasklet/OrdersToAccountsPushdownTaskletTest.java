@@ -0,0 +1,114 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite.tasklet;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * H2 에서 id 범위 나누기, 비어있는 id 구간 건너뛰기, 재시작을 확인한다.
+ */
+class OrdersToAccountsPushdownTaskletTest {
+
+    private static final String LAST_ID_KEY = "trOrdersReader.lastId";
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE orders (id INT PRIMARY KEY, order_item VARCHAR(45), price INT, order_date DATE)");
+        jdbcTemplate.execute("CREATE TABLE accounts (id INT PRIMARY KEY, order_item VARCHAR(45), price INT, order_date DATE, account_date DATE)");
+        // 1 ~ 25, 10_001 ~ 10_005 : 사이의 id 는 비어있다.
+        List<Object[]> rows = Stream.concat(IntStream.rangeClosed(1, 25).boxed(), IntStream.rangeClosed(10_001, 10_005).boxed())
+                .map(id -> new Object[]{id, "item-" + id, id * 100, Date.valueOf(LocalDate.of(2023, 1, 1))})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO orders (id, order_item, price, order_date) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    @DisplayName(value = "rangeSize 씩 나눠 옮기고, 비어있는 id 구간은 범위 하나로 건너뛴다.")
+    public void splitsRangesAndSkipsGaps() {
+        StepExecution stepExecution = stepExecution();
+
+        int executions = run(new OrdersToAccountsPushdownTasklet(jdbcTemplate, LAST_ID_KEY, 0, 10, false), stepExecution);
+
+        assertEquals(4, executions);        // 1~10, 11~20, 21~25, 10_001~10_005
+        assertEquals(30, stepExecution.getWriteCount());
+        assertEquals(30, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts", Integer.class));
+        assertEquals(10_005, stepExecution.getExecutionContext().getInt(LAST_ID_KEY));
+    }
+
+    @Test
+    @DisplayName(value = "재시작하면 ExecutionContext 의 lastId 다음부터 옮긴다.")
+    public void restartsAfterLastId() {
+        jdbcTemplate.update("INSERT INTO accounts (id, order_item, price, order_date, account_date) "
+                + "SELECT id, order_item, price, order_date, order_date FROM orders WHERE id <= 20");
+        StepExecution stepExecution = stepExecution();
+        stepExecution.getExecutionContext().putInt(LAST_ID_KEY, 20);
+
+        int executions = run(new OrdersToAccountsPushdownTasklet(jdbcTemplate, LAST_ID_KEY, 0, 10, false), stepExecution);
+
+        assertEquals(2, executions);        // 21~25, 10_001~10_005
+        assertEquals(10, stepExecution.getWriteCount());
+        assertEquals(30, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts", Integer.class));
+    }
+
+    @Test
+    @DisplayName(value = "minId (high-water mark + 1) 보다 작은 주문은 옮기지 않는다.")
+    public void startsFromMinId() {
+        StepExecution stepExecution = stepExecution();
+
+        run(new OrdersToAccountsPushdownTasklet(jdbcTemplate, LAST_ID_KEY, 26, 10, false), stepExecution);
+
+        assertEquals(5, stepExecution.getWriteCount());
+        assertEquals(10_001, jdbcTemplate.queryForObject("SELECT MIN(id) FROM accounts", Integer.class));
+    }
+
+    /**
+     * TaskletStep 처럼 FINISHED 가 나올 때까지 execute 를 반복하고, CONTINUABLE 을 반환한 횟수를 돌려준다.
+     */
+    private static int run(OrdersToAccountsPushdownTasklet tasklet, StepExecution stepExecution) {
+        ChunkContext chunkContext = new ChunkContext(new StepContext(stepExecution));
+        for (int executions = 0; ; executions++) {
+            StepContribution contribution = stepExecution.createStepContribution();
+            RepeatStatus status = tasklet.execute(contribution, chunkContext);
+            stepExecution.apply(contribution);
+            if (status == RepeatStatus.FINISHED) {
+                return executions;
+            }
+        }
+    }
+
+    private static StepExecution stepExecution() {
+        return new StepExecution("trMigrationStep", new JobExecution(1L), 1L);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.springbatchtutorial.job.DbDataReadWrite.writer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * H2 에서 chunk 트랜잭션 안의 savepoint 로 poison 아이템만 찾아내는지 확인한다.
+ */
+class BisectingItemWriterTest {
+
+    private static final int CHUNK_SIZE = 64;
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Integer> deadLettered = new ArrayList<>();
+    private final AtomicInteger delegateWrites = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE settled (id INT PRIMARY KEY, price INT NOT NULL)");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    @DisplayName(value = "제약 조건을 어기는 아이템만 dead letter 로 보내고 나머지는 같은 트랜잭션에서 커밋한다.")
+    public void deadLettersOnlyPoisonItems() {
+        List<Integer[]> items = IntStream.rangeClosed(1, CHUNK_SIZE)
+                .mapToObj(id -> new Integer[]{id, id == 10 || id == 50 ? null : id * 100})     // price NOT NULL 위반
+                .toList();
+        BisectingItemWriter<Integer[]> writer = new BisectingItemWriter<>(counting(jdbcWriter()), dataSource,
+                (item, e) -> deadLettered.add(item[0]));
+
+        transactionTemplate.executeWithoutResult(status -> write(writer, items));
+
+        assertEquals(List.of(10, 50), deadLettered);
+        assertEquals(CHUNK_SIZE - 2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM settled", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM settled WHERE id IN (10, 50)", Integer.class));
+        // poison 2 개 : 처음 1 번 + 나눌 때마다 양쪽 2 번 * log2(64) 단계 * 2 개 이하
+        assertTrue(delegateWrites.get() <= 1 + 2 * 6 * 2, "delegate writes: " + delegateWrites.get());
+    }
+
+    @Test
+    @DisplayName(value = "앞의 chunk 와 중복된 키도 데이터 문제로 보고 그 아이템만 dead letter 로 보낸다.")
+    public void deadLettersDuplicateKeys() {
+        jdbcTemplate.update("INSERT INTO settled (id, price) VALUES (3, 300)");
+        List<Integer[]> items = IntStream.rangeClosed(1, 8).mapToObj(id -> new Integer[]{id, id * 100}).toList();
+        BisectingItemWriter<Integer[]> writer = new BisectingItemWriter<>(jdbcWriter(), dataSource,
+                (item, e) -> deadLettered.add(item[0]));
+
+        transactionTemplate.executeWithoutResult(status -> write(writer, items));
+
+        assertEquals(List.of(3), deadLettered);
+        assertEquals(8, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM settled", Integer.class));
+    }
+
+    @Test
+    @DisplayName(value = "커넥션 문제 같은 데이터 문제가 아닌 예외는 나누지 않고 그대로 던진다.")
+    public void rethrowsResourceFailures() {
+        List<Integer[]> items = IntStream.rangeClosed(1, CHUNK_SIZE).mapToObj(id -> new Integer[]{id, id}).toList();
+        BisectingItemWriter<Integer[]> writer = new BisectingItemWriter<>(counting(chunk -> {
+            throw new DataAccessResourceFailureException("connection lost");
+        }), dataSource, (item, e) -> deadLettered.add(item[0]));
+
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> transactionTemplate.executeWithoutResult(status -> write(writer, items)));
+        assertEquals(1, delegateWrites.get());
+        assertTrue(deadLettered.isEmpty());
+    }
+
+    private JdbcBatchItemWriter<Integer[]> jdbcWriter() {
+        return new JdbcBatchItemWriterBuilder<Integer[]>()
+                .dataSource(dataSource)
+                .sql("INSERT INTO settled (id, price) VALUES (?, ?)")
+                .itemPreparedStatementSetter((item, ps) -> {
+                    ps.setInt(1, item[0]);
+                    ps.setObject(2, item[1], Types.INTEGER);
+                })
+                .build();
+    }
+
+    private ItemWriter<Integer[]> counting(ItemWriter<Integer[]> delegate) {
+        return chunk -> {
+            delegateWrites.incrementAndGet();
+            delegate.write(chunk);
+        };
+    }
+
+    private static void write(ItemWriter<Integer[]> writer, List<Integer[]> items) {
+        try {
+            writer.write(new Chunk<>(items));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.springbatchtutorial.job.FileDataReadWrite.reader;
+
+import com.example.springbatchtutorial.job.FileDataReadWrite.dto.Player;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileParseException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerMappedFileItemReaderTest {
+
+    private static final String HEADER = "ID,lastName,firstName,position,birthYear,debutYear\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName(value = "숫자 필드가 비어 있으면 0 으로 읽지 않고 FlatFileParseException 이 발생한다.")
+    public void emptyNumberFails() throws Exception {
+        PlayerMappedFileItemReader reader = new PlayerMappedFileItemReader(file(
+                "AbduKa00,Abdul-Jabbar,Karim,rb,1974,1996,\n" +
+                "AbduRa00,Abdullah,Rabih,rb,,1999,\n"));
+        reader.open(new ExecutionContext());
+
+        assertEquals(1974, reader.read().getBirthYear());
+        FlatFileParseException exception = assertThrows(FlatFileParseException.class, reader::read);
+        assertEquals(3, exception.getLineNumber());
+        reader.close();
+    }
+
+    @Test
+    @DisplayName(value = "재시작하면 저장된 offset 부터 읽고, 줄 번호도 이어서 센다.")
+    public void restartRestoresLineNumber() throws Exception {
+        Path path = file(
+                "AbduKa00,Abdul-Jabbar,Karim,rb,1974,1996,\n" +
+                "AbduRa00,Abdullah,Rabih,rb,1975,1999,\n" +
+                "AberWa00,Abercrombie,Walter,rb,1959,1982,\n" +
+                "AbraDa00,Abramowicz,Danny,wr,1945,x,\n");
+        ExecutionContext executionContext = new ExecutionContext();
+
+        PlayerMappedFileItemReader failed = new PlayerMappedFileItemReader(path);
+        failed.open(executionContext);
+        failed.read();
+        failed.read();
+        failed.update(executionContext);
+        failed.close();
+
+        PlayerMappedFileItemReader restarted = new PlayerMappedFileItemReader(path);
+        restarted.open(executionContext);
+        Player player = restarted.read();
+        FlatFileParseException exception = assertThrows(FlatFileParseException.class, restarted::read);
+        restarted.close();
+
+        assertEquals("AberWa00", player.getID());
+        assertEquals(5, exception.getLineNumber());
+    }
+
+    private Path file(String lines) throws IOException {
+        return Files.writeString(tempDir.resolve("Players.csv"), HEADER + lines, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.example.springbatchtutorial.job.FileDataReadWrite.writer;
+
+import com.github.luben.zstd.ZstdInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingCompressedItemWriterTest {
+
+    private static final int CHUNK_SIZE = 100;
+    private static final int RECORDS_PER_PART = 60;
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @EnumSource(OutputCompression.class)
+    @DisplayName(value = "part 마다 RECORDS_PER_PART 건씩 나눠 쓰고, chunk 마다 끝낸 member 를 이어 붙여도 한 번에 풀린다.")
+    public void rollsAndConcatenatesMembers(OutputCompression compression) throws Exception {
+        List<String> lines = lines(1_000);
+        ExecutionContext executionContext = new ExecutionContext();
+
+        RollingCompressedItemWriter<String> writer = writer(compression);
+        writer.open(executionContext);
+        for (int i = 0; i < lines.size(); i += CHUNK_SIZE) {
+            writer.write(new Chunk<>(lines.subList(i, i + CHUNK_SIZE)));
+            writer.update(executionContext);
+        }
+        writer.close();
+
+        assertEquals((lines.size() + RECORDS_PER_PART - 1) / RECORDS_PER_PART, parts(compression).size());
+        assertEquals(lines, readAll(compression));
+    }
+
+    @ParameterizedTest
+    @EnumSource(OutputCompression.class)
+    @DisplayName(value = "재시작하면 commit 된 위치로 잘라내고, 실패한 chunk 가 넘어가며 만든 part 는 지운 뒤 이어서 쓴다.")
+    public void restartFromCommittedOffset(OutputCompression compression) throws Exception {
+        List<String> lines = lines(1_000);
+        ExecutionContext executionContext = new ExecutionContext();
+
+        RollingCompressedItemWriter<String> failed = writer(compression);
+        failed.open(executionContext);
+        for (int i = 0; i < 500; i += CHUNK_SIZE) {
+            failed.write(new Chunk<>(lines.subList(i, i + CHUNK_SIZE)));
+            failed.update(executionContext);
+        }
+        failed.write(new Chunk<>(lines.subList(500, 700)));     // commit 되지 않은 chunk. 중간에 part 가 두 번 넘어간다.
+        failed.close();
+        int partsBeforeRestart = parts(compression).size();
+
+        RollingCompressedItemWriter<String> restarted = writer(compression);
+        restarted.open(executionContext);
+        assertTrue(parts(compression).size() < partsBeforeRestart);      // commit 된 part 뒤의 part 는 지워졌다.
+        for (int i = 500; i < lines.size(); i += CHUNK_SIZE) {
+            restarted.write(new Chunk<>(lines.subList(i, i + CHUNK_SIZE)));
+            restarted.update(executionContext);
+        }
+        restarted.close();
+
+        assertEquals(lines, readAll(compression));
+    }
+
+    private RollingCompressedItemWriter<String> writer(OutputCompression compression) {
+        RollingCompressedItemWriter<String> writer = new RollingCompressedItemWriter<>(tempDir.resolve("players.txt"),
+                item -> item, compression, 1_024, RECORDS_PER_PART, Long.MAX_VALUE);
+        writer.setName("writer");
+        return writer;
+    }
+
+    private List<Path> parts(OutputCompression compression) throws IOException {
+        List<Path> parts = new ArrayList<>();
+        for (int index = 0; ; index++) {
+            Path part = tempDir.resolve(String.format("players-%05d.txt%s", index, compression.extension()));
+            if (!Files.exists(part)) {
+                return parts;
+            }
+            parts.add(part);
+        }
+    }
+
+    private List<String> readAll(OutputCompression compression) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (Path part : parts(compression)) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(decompress(compression, Files.newInputStream(part)),
+                    StandardCharsets.UTF_8))) {
+                reader.lines().forEach(lines::add);
+            }
+        }
+        return lines;
+    }
+
+    private static InputStream decompress(OutputCompression compression, InputStream in) throws IOException {
+        return switch (compression) {
+            case NONE -> in;
+            case GZIP -> new GZIPInputStream(in);
+            case ZSTD -> new ZstdInputStream(in);
+        };
+    }
+
+    private static List<String> lines(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> "player-" + i + ",qb," + (1940 + i % 60))
+                .toList();
+    }
+}
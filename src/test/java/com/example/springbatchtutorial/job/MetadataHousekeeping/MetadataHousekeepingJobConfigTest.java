@@ -0,0 +1,161 @@
+package com.example.springbatchtutorial.job.MetadataHousekeeping;
+
+import com.example.springbatchtutorial.job.DbDataReadWrite.listener.OrdersHighWaterMark;
+import com.example.springbatchtutorial.job.SpringBatchTestConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.batch.test.JobRepositoryTestUtils;
+import org.springframework.batch.test.context.SpringBatchTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 오래된 실행 이력을 만들어두고 metadataHousekeepingJob 이 보관 기간이 지난 실행만 지우는지 확인한다.
+ */
+@ActiveProfiles("test")
+@Sql({"classpath:org/springframework/batch/core/schema-drop-h2.sql", "classpath:org/springframework/batch/core/schema-h2.sql"})    // @EnableBatchProcessing 은 Boot 의 메타데이터 테이블 초기화를 끈다.
+@SpringBatchTest
+@SpringBootTest(classes = {SpringBatchTestConfig.class, MetadataHousekeepingJobConfig.class})
+class MetadataHousekeepingJobConfigTest {
+
+    @Autowired
+    private JobLauncherTestUtils jobLauncherTestUtils;
+
+    @Autowired
+    private JobRepositoryTestUtils jobRepositoryTestUtils;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JobExplorer jobExplorer;
+
+    private final AtomicLong runId = new AtomicLong();
+
+    @AfterEach
+    void tearDown() {
+        jobRepositoryTestUtils.removeJobExecutions();
+    }
+
+    @Test
+    @DisplayName(value = "보관 기간이 지난 실행은 지우고, 최근 실행과 Job 별 마지막 COMPLETED 실행은 남긴다.")
+    public void pruneExpiredExecutions() throws Exception {
+        LocalDateTime expired = LocalDateTime.now().minusDays(200);
+        LocalDateTime recent = LocalDateTime.now().minusDays(1);
+        history("oldJob", 30, expired);
+        history("recentJob", 20, expired);
+        history("recentJob", 5, recent);
+
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(new JobParametersBuilder()
+                .addLong("retentionDays", 90L)
+                .addLong("batchSize", 7L)
+                .toJobParameters());
+
+        assertEquals(ExitStatus.COMPLETED, jobExecution.getExitStatus());
+        assertEquals(1, executionCount("oldJob"));
+        assertEquals(5, executionCount("recentJob"));
+        assertEquals(1, instanceCount("oldJob"));
+        assertEquals(5, instanceCount("recentJob"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM BATCH_STEP_EXECUTION_CONTEXT C "
+                + "WHERE NOT EXISTS (SELECT 1 FROM BATCH_STEP_EXECUTION S WHERE S.STEP_EXECUTION_ID = C.STEP_EXECUTION_ID)", Integer.class));
+
+        StepExecution pruneStep = jobExecution.getStepExecutions().stream()
+                .filter(stepExecution -> stepExecution.getStepName().equals("metadataPruneStep"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(29 + 20, pruneStep.getWriteCount());
+        assertTrue(pruneStep.getCommitCount() > 1);     // batchSize 마다 따로 커밋
+
+        // 정리 전 / 후 조회 시간과 그 때의 JobInstance 수 (이 housekeeping 실행 포함)
+        ExecutionContext report = jobExecution.getExecutionContext();
+        assertEquals(30 + 25 + 1, report.getLong(MetadataHousekeepingJobConfig.LOOKUP_INSTANCES_BEFORE));
+        assertEquals(1 + 5 + 1, report.getLong(MetadataHousekeepingJobConfig.LOOKUP_INSTANCES_AFTER));
+        assertTrue(report.getLong(MetadataHousekeepingJobConfig.LOOKUP_MICROS_BEFORE) >= 0);
+        assertTrue(report.getLong(MetadataHousekeepingJobConfig.LOOKUP_MICROS_AFTER) >= 0);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES "
+                + "WHERE INDEX_NAME = 'BATCH_STEP_EXEC_NAME_IDX'", Integer.class));
+    }
+
+    @Test
+    @DisplayName(value = "마지막 성공 실행이 high-water mark 를 남기지 않았어도, high-water mark 를 가진 마지막 성공 실행은 남긴다.")
+    public void keepHighWaterMarkExecution() throws Exception {
+        LocalDateTime expired = LocalDateTime.now().minusDays(200);
+        history("trMigrationJob", 3, expired);
+        JobExecution incremental = history("trMigrationJob", 1, expired).get(0);
+        incremental.getExecutionContext().putInt(OrdersHighWaterMark.HIGH_WATER_MARK, 4_200);
+        jobRepository.updateExecutionContext(incremental);
+        history("trMigrationJob", 3, expired);          // readerMode=cursor 처럼 high-water mark 를 남기지 않는 실행
+
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(new JobParametersBuilder()
+                .addLong("retentionDays", 90L)
+                .toJobParameters());
+
+        assertEquals(ExitStatus.COMPLETED, jobExecution.getExitStatus());
+        assertEquals(2, executionCount("trMigrationJob"));
+        assertNotNull(jobExplorer.getJobExecution(incremental.getId()));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + OrdersHighWaterMark.TABLE);
+        assertEquals(4_200, new OrdersHighWaterMark(jdbcTemplate, jobExplorer, "trOrdersReader.lastId").lastCompleted("trMigrationJob"));
+    }
+
+    /**
+     * JobExecution 을 반환하는 메소드는 @SpringBatchTest (JobScopeTestExecutionListener) 가 찾아서 호출하므로 List 로 반환한다.
+     */
+    private List<JobExecution> history(String jobName, int count, LocalDateTime endTime) throws Exception {
+        List<JobExecution> jobExecutions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            JobExecution jobExecution = jobRepository.createJobExecution(jobName, new JobParametersBuilder()
+                    .addLong("run.id", runId.incrementAndGet())
+                    .toJobParameters());
+            StepExecution stepExecution = jobExecution.createStepExecution(jobName + "Step");
+            jobRepository.add(stepExecution);
+            stepExecution.getExecutionContext().putLong("lastId", i);
+            jobRepository.updateExecutionContext(stepExecution);
+            stepExecution.setStatus(BatchStatus.COMPLETED);
+            stepExecution.setExitStatus(ExitStatus.COMPLETED);
+            stepExecution.setStartTime(endTime);
+            stepExecution.setEndTime(endTime);
+            jobRepository.update(stepExecution);
+
+            jobExecution.setStatus(BatchStatus.COMPLETED);
+            jobExecution.setExitStatus(ExitStatus.COMPLETED);
+            jobExecution.setStartTime(endTime);
+            jobExecution.setEndTime(endTime);
+            jobRepository.update(jobExecution);
+            jobExecutions.add(jobExecution);
+        }
+        return jobExecutions;
+    }
+
+    private int executionCount(String jobName) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM BATCH_JOB_EXECUTION E "
+                + "JOIN BATCH_JOB_INSTANCE I ON E.JOB_INSTANCE_ID = I.JOB_INSTANCE_ID WHERE I.JOB_NAME = ?", Integer.class, jobName);
+    }
+
+    private int instanceCount(String jobName) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM BATCH_JOB_INSTANCE WHERE JOB_NAME = ?", Integer.class, jobName);
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.example.springbatchtutorial.job.MultipleStep;
+
+import com.example.springbatchtutorial.job.SpringBatchTestConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.batch.test.context.SpringBatchTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@Sql({"classpath:org/springframework/batch/core/schema-drop-h2.sql", "classpath:org/springframework/batch/core/schema-h2.sql"})    // @EnableBatchProcessing 은 Boot 의 메타데이터 테이블 초기화를 끈다.
+@SpringBatchTest
+@SpringBootTest(classes = {SpringBatchTestConfig.class, MultipleStepJobConfigTest.TaskExecutorConfig.class, MultipleStepJobConfig.class})
+class MultipleStepJobConfigTest {
+
+    @Autowired
+    private JobLauncherTestUtils jobLauncherTestUtils;
+
+    @Autowired
+    private RendezvousTaskExecutor parallelFlowTaskExecutor;
+
+    @Test
+    @DisplayName(value = "의존하지 않는 Step 은 동시에 실행되고, 선언한 키는 Job ExecutionContext 로 합쳐진다.")
+    public void success() throws Exception {
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob();
+
+        assertEquals(ExitStatus.COMPLETED, jobExecution.getExitStatus());
+        assertEquals("hello!!", jobExecution.getExecutionContext().get("someKey"));
+
+        // @SpringBatchTest 는 StepExecution 을 반환하는 메소드 (람다 포함) 를 찾아 호출하므로 stepExecution -> stepExecution 람다를 쓰지 않는다.
+        Map<String, StepExecution> stepExecutions = jobExecution.getStepExecutions().stream()
+                .collect(Collectors.toMap(StepExecution::getStepName, Function.identity()));
+        assertEquals(3, stepExecutions.size());
+        stepExecutions.values().forEach(stepExecution -> assertEquals(BatchStatus.COMPLETED, stepExecution.getStatus()));
+
+        // multipleStep1 과 multipleStep2 는 둘 다 TaskExecutor 에 넘겨진 뒤에 함께 실행을 시작했다.
+        assertTrue(parallelFlowTaskExecutor.overlapped());
+
+        // someKey 를 읽는 multipleStep3 은 someKey 를 쓰는 multipleStep2 가 끝난 뒤에 시작한다.
+        assertFalse(stepExecutions.get("multipleStep3").getStartTime()
+                .isBefore(stepExecutions.get("multipleStep2").getEndTime()));
+    }
+
+    @TestConfiguration
+    static class TaskExecutorConfig {
+
+        @Bean
+        public RendezvousTaskExecutor parallelFlowTaskExecutor() {
+            return new RendezvousTaskExecutor(2);
+        }
+    }
+
+    /**
+     * 처음 parties 개의 Step 은 모두 넘겨질 때까지 기다렸다가 함께 실행한다.
+     * 앞의 Step 이 끝나야 다음 Step 이 넘겨지면 (동시에 실행되지 않으면) 기다리다가 그대로 실행하고 overlapped() 가 false 가 된다.
+     */
+    static class RendezvousTaskExecutor implements TaskExecutor {
+
+        private final SimpleAsyncTaskExecutor delegate = new SimpleAsyncTaskExecutor("multiple-step-test-");
+        private final CountDownLatch submitted;
+        private final AtomicBoolean overlapped = new AtomicBoolean(true);
+
+        RendezvousTaskExecutor(int parties) {
+            this.submitted = new CountDownLatch(parties);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            submitted.countDown();
+            delegate.execute(() -> {
+                try {
+                    if (!submitted.await(5, TimeUnit.SECONDS)) {
+                        overlapped.set(false);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    overlapped.set(false);
+                }
+                task.run();
+            });
+        }
+
+        boolean overlapped() {
+            return overlapped.get();
+        }
+    }
+
+}